@@ -0,0 +1,724 @@
+package io.thedocs.soyuz.validator;
+
+import lombok.ToString;
+import org.apache.commons.beanutils.BeanUtilsBean;
+import org.apache.commons.beanutils.MappedPropertyDescriptor;
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.NestedNullException;
+import org.apache.commons.beanutils.PropertyUtilsBean;
+
+import javax.annotation.Nullable;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Property path which is resolved once (when validator is built) into a chain of getters, record accessors or field reads.
+ * Paths which can't be resolved statically are read with BeanUtils.
+ */
+public interface FluentValidatorAccessor {
+
+    PropertyUtilsBean PROPERTY_UTILS_BEAN = BeanUtilsBean.getInstance().getPropertyUtils();
+
+    Object get(Object object) throws Exception;
+
+    /**
+     * @return static type of the value or null if it is unknown
+     */
+    @Nullable
+    Class<?> getType();
+
+    static FluentValidatorAccessor of(@Nullable Class<?> rootClass, @Nullable String property) {
+        return of(rootClass, property, null);
+    }
+
+    static FluentValidatorAccessor of(@Nullable Class<?> rootClass, @Nullable String property, @Nullable KeyTable keys) {
+        if (property == null) {
+            return new Self(rootClass);
+        } else if (!isSimplePath(property)) {
+            return new Dynamic(property);
+        } else {
+            String[] names = property.split("\\.");
+            List<FluentValidatorAccessor> accessors = new ArrayList<>(names.length);
+            Class<?> clazz = rootClass;
+
+            for (String name : names) {
+                FluentValidatorAccessor accessor = property(clazz, name, keys);
+
+                accessors.add(accessor);
+                clazz = accessor.getType();
+            }
+
+            return (accessors.size() == 1) ? accessors.get(0) : new Chain(property, accessors);
+        }
+    }
+
+    /**
+     * Maps and objects of unknown type are read with Map.get if they are maps at runtime (e.g. decoded json)
+     */
+    static FluentValidatorAccessor property(@Nullable Class<?> clazz, String name, @Nullable KeyTable keys) {
+        if (clazz == null || Map.class.isAssignableFrom(clazz)) {
+            return new MapEntry((keys == null) ? name : keys.intern(name));
+        }
+
+        Member member = findMember(clazz, name);
+        Function<Object, Object> getter = null;
+        Class<?> type = null;
+
+        if (member instanceof Method) {
+            getter = Lambdas.getter((Method) member);
+            type = ((Method) member).getReturnType();
+        } else if (member instanceof Field) {
+            getter = Lambdas.getter((Field) member);
+            type = ((Field) member).getType();
+        }
+
+        if (getter == null) {
+            return new Polymorphic(name);
+        } else if (type == int.class) {
+            return new Getter(clazz, name, type, getter).setIntFunction(Lambdas.intGetter(member));
+        } else if (type == long.class) {
+            return new Getter(clazz, name, type, getter).setLongFunction(Lambdas.longGetter(member));
+        } else if (type == double.class) {
+            return new Getter(clazz, name, type, getter).setDoubleFunction(Lambdas.doubleGetter(member));
+        } else {
+            return new Getter(clazz, name, type, getter);
+        }
+    }
+
+    /**
+     * Resolves property against exact runtime class. It returns BeanUtils accessor if property can't be resolved statically
+     */
+    static FluentValidatorAccessor exact(Class<?> clazz, String name) {
+        FluentValidatorAccessor accessor = property(clazz, name, null);
+
+        return (accessor instanceof Polymorphic) ? new Dynamic(name) : accessor;
+    }
+
+    @Nullable
+    static Member findMember(Class<?> clazz, String name) {
+        switch (AccessStrategy.of(clazz)) {
+            case RECORD:
+                return AccessStrategy.findRecordAccessor(clazz, name);
+            case FIELD:
+                return findField(clazz, name);
+            default:
+                Method method = findReadMethod(clazz, name);
+
+                return (method != null) ? method : findField(clazz, name);
+        }
+    }
+
+    static boolean isSimplePath(String property) {
+        for (int i = 0; i < property.length(); i++) {
+            char c = property.charAt(i);
+
+            if (c == '[' || c == ']' || c == '(' || c == ')') {
+                return false;
+            }
+        }
+
+        return !property.isEmpty() && !property.startsWith(".") && !property.endsWith(".") && !property.contains("..");
+    }
+
+    @Nullable
+    static Method findReadMethod(Class<?> clazz, String name) {
+        if (Map.class.isAssignableFrom(clazz)) {
+            return null;
+        }
+
+        for (PropertyDescriptor descriptor : PROPERTY_UTILS_BEAN.getPropertyDescriptors(clazz)) {
+            if (name.equals(descriptor.getName()) && !(descriptor instanceof MappedPropertyDescriptor) && descriptor.getReadMethod() != null) {
+                return MethodUtils.getAccessibleMethod(clazz, descriptor.getReadMethod());
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    static Field findField(Class<?> clazz, String name) {
+        try {
+            Field field = clazz.getField(name);
+
+            return (Modifier.isStatic(field.getModifiers())) ? null : field;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    /**
+     * How properties of the class are read. Strategy is chosen once per class:
+     * <ul>
+     * <li>RECORD - records are read with their canonical accessors</li>
+     * <li>FIELD - classes with public fields and without getters (e.g. generated messages) are read directly from fields,
+     * so we don't introspect them and don't keep bean descriptors for them</li>
+     * <li>BEAN - java beans; public field is used if there is no getter for the property</li>
+     * </ul>
+     */
+    enum AccessStrategy {
+        BEAN, RECORD, FIELD;
+
+        private static final ClassValue<AccessStrategy> STRATEGIES = new ClassValue<AccessStrategy>() {
+            @Override
+            protected AccessStrategy computeValue(Class<?> clazz) {
+                if (isRecord(clazz)) {
+                    return RECORD;
+                } else if (!Map.class.isAssignableFrom(clazz) && hasPublicFields(clazz) && !hasGetters(clazz)) {
+                    return FIELD;
+                } else {
+                    return BEAN;
+                }
+            }
+        };
+
+        static AccessStrategy of(Class<?> clazz) {
+            return STRATEGIES.get(clazz);
+        }
+
+        @Nullable
+        static Method findRecordAccessor(Class<?> clazz, String name) {
+            try {
+                for (Object component : (Object[]) Class.class.getMethod("getRecordComponents").invoke(clazz)) {
+                    if (name.equals(component.getClass().getMethod("getName").invoke(component))) {
+                        return (Method) component.getClass().getMethod("getAccessor").invoke(component);
+                    }
+                }
+
+                return null;
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        private static boolean isRecord(Class<?> clazz) {
+            Class<?> superclass = clazz.getSuperclass();
+
+            return superclass != null && "java.lang.Record".equals(superclass.getName());
+        }
+
+        private static boolean hasPublicFields(Class<?> clazz) {
+            for (Field field : clazz.getFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private static boolean hasGetters(Class<?> clazz) {
+            for (Method method : clazz.getMethods()) {
+                String name = method.getName();
+
+                if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers()) && method.getDeclaringClass() != Object.class
+                        && ((name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2))) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    @ToString
+    class Self implements FluentValidatorAccessor {
+        private Class<?> type;
+
+        public Self(@Nullable Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Object get(Object object) {
+            return object;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return type;
+        }
+    }
+
+    @ToString
+    class Dynamic implements FluentValidatorAccessor {
+        private String property;
+
+        public Dynamic(String property) {
+            this.property = property;
+        }
+
+        @Override
+        public Object get(Object object) throws Exception {
+            return PROPERTY_UTILS_BEAN.getNestedProperty(object, property);
+        }
+
+        @Override
+        public Class<?> getType() {
+            return null;
+        }
+    }
+
+    @ToString
+    class MapEntry implements FluentValidatorAccessor {
+        private String key;
+
+        public MapEntry(String key) {
+            this.key = key;
+        }
+
+        private Polymorphic fallback;
+
+        @Override
+        public Object get(Object object) throws Exception {
+            if (object instanceof Map) {
+                return ((Map) object).get(key);
+            } else {
+                if (fallback == null) {
+                    fallback = new Polymorphic(key);
+                }
+
+                return fallback.get(object);
+            }
+        }
+
+        @Override
+        public Class<?> getType() {
+            return null;
+        }
+    }
+
+    /**
+     * Canonical instances of map keys. Keys of the validated properties are interned here when validator is built.
+     * If decoder of the payload takes its keys from the same table (see {@link #canonical(String)}),
+     * map lookups made by validator compare keys by reference.
+     */
+    @ToString
+    class KeyTable {
+        private final ConcurrentHashMap<String, String> keys = new ConcurrentHashMap<>();
+
+        public KeyTable(String... keys) {
+            for (String key : keys) {
+                intern(key);
+            }
+        }
+
+        public String intern(String key) {
+            String answer = keys.putIfAbsent(key, key);
+
+            return (answer == null) ? key : answer;
+        }
+
+        /**
+         * @return canonical instance of the key or the key itself if it is unknown. Table is not changed
+         */
+        public String canonical(String key) {
+            String answer = keys.get(key);
+
+            return (answer == null) ? key : answer;
+        }
+    }
+
+    /**
+     * Getter of the statically resolved property. Properties of int / long / double type can also be read without boxing
+     * with getInt / getLong / getDouble if the object is instance of the class (see {@link #isInstance(Object)})
+     */
+    @ToString(of = {"clazz", "name"})
+    class Getter implements FluentValidatorAccessor {
+        private Class<?> clazz;
+        private String name;
+        private Class<?> type;
+        private Function<Object, Object> function;
+        private ToIntFunction<Object> intFunction;
+        private ToLongFunction<Object> longFunction;
+        private ToDoubleFunction<Object> doubleFunction;
+        private Polymorphic fallback;
+
+        public Getter(Class<?> clazz, String name, Class<?> type, Function<Object, Object> function) {
+            this.clazz = clazz;
+            this.name = name;
+            this.type = type;
+            this.function = function;
+        }
+
+        @Override
+        public Object get(Object object) throws Exception {
+            if (clazz.isInstance(object)) {
+                return function.apply(object);
+            } else {
+                if (fallback == null) {
+                    fallback = new Polymorphic(name);
+                }
+
+                return fallback.get(object);
+            }
+        }
+
+        public boolean isInstance(Object object) {
+            return clazz.isInstance(object);
+        }
+
+        /**
+         * @return true if property can be read without boxing as int.class, long.class or double.class
+         */
+        public boolean isPrimitive(Class<?> primitiveType) {
+            if (primitiveType == int.class) {
+                return intFunction != null;
+            } else if (primitiveType == long.class) {
+                return longFunction != null;
+            } else if (primitiveType == double.class) {
+                return doubleFunction != null;
+            } else {
+                return false;
+            }
+        }
+
+        public int getInt(Object object) {
+            return intFunction.applyAsInt(object);
+        }
+
+        public long getLong(Object object) {
+            return longFunction.applyAsLong(object);
+        }
+
+        public double getDouble(Object object) {
+            return doubleFunction.applyAsDouble(object);
+        }
+
+        @Override
+        public Class<?> getType() {
+            return type;
+        }
+
+        Getter setIntFunction(@Nullable ToIntFunction<Object> intFunction) {
+            this.intFunction = intFunction;
+            return this;
+        }
+
+        Getter setLongFunction(@Nullable ToLongFunction<Object> longFunction) {
+            this.longFunction = longFunction;
+            return this;
+        }
+
+        Getter setDoubleFunction(@Nullable ToDoubleFunction<Object> doubleFunction) {
+            this.doubleFunction = doubleFunction;
+            return this;
+        }
+    }
+
+    /**
+     * Property which can't be resolved against static type (e.g. it is declared only in subclasses).
+     * Accessors are resolved against runtime classes: the first few classes are kept in the inline cache,
+     * other classes are resolved once and kept in ClassValue, so megamorphic properties don't fall back to reflection.
+     */
+    @ToString(of = "name")
+    class Polymorphic implements FluentValidatorAccessor {
+        private static final int INLINE_CACHE_SIZE = 4;
+
+        private final String name;
+        private volatile Entry[] entries = new Entry[0];
+        private final ClassValue<FluentValidatorAccessor> megamorphic = new ClassValue<FluentValidatorAccessor>() {
+            @Override
+            protected FluentValidatorAccessor computeValue(Class<?> clazz) {
+                return exact(clazz, name);
+            }
+        };
+
+        public Polymorphic(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object get(Object object) throws Exception {
+            Class<?> clazz = object.getClass();
+
+            for (Entry entry : entries) {
+                if (entry.clazz == clazz) {
+                    return entry.accessor.get(object);
+                }
+            }
+
+            return miss(clazz).get(object);
+        }
+
+        private FluentValidatorAccessor miss(Class<?> clazz) {
+            FluentValidatorAccessor accessor = megamorphic.get(clazz);
+
+            synchronized (this) {
+                Entry[] entries = this.entries;
+
+                if (entries.length < INLINE_CACHE_SIZE) {
+                    for (Entry entry : entries) {
+                        if (entry.clazz == clazz) {
+                            return accessor;
+                        }
+                    }
+
+                    entries = Arrays.copyOf(entries, entries.length + 1);
+                    entries[entries.length - 1] = new Entry(clazz, accessor);
+
+                    this.entries = entries;
+                }
+            }
+
+            return accessor;
+        }
+
+        private static final class Entry {
+            private final Class<?> clazz;
+            private final FluentValidatorAccessor accessor;
+
+            Entry(Class<?> clazz, FluentValidatorAccessor accessor) {
+                this.clazz = clazz;
+                this.accessor = accessor;
+            }
+        }
+
+        @Override
+        public Class<?> getType() {
+            return null;
+        }
+    }
+
+    @ToString
+    class Chain implements FluentValidatorAccessor {
+        private String property;
+        private FluentValidatorAccessor[] accessors;
+
+        public Chain(String property, List<FluentValidatorAccessor> accessors) {
+            this.property = property;
+            this.accessors = accessors.toArray(new FluentValidatorAccessor[accessors.size()]);
+        }
+
+        @Override
+        public Object get(Object object) throws Exception {
+            Object value = object;
+
+            for (FluentValidatorAccessor accessor : accessors) {
+                if (value == null) {
+                    throw new NestedNullException("Null property value for '" + property + "' on bean class '" + object.getClass() + "'");
+                }
+
+                value = accessor.get(value);
+            }
+
+            return value;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return accessors[accessors.length - 1].getType();
+        }
+    }
+
+    class Lambdas {
+
+        private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+        /**
+         * Builds getter with LambdaMetafactory. If class of the bean is not visible from the validator's class loader
+         * we can't spin lambda class for it, so method handle is used instead
+         */
+        @Nullable
+        static Function<Object, Object> getter(Method method) {
+            MethodHandle handle;
+
+            try {
+                handle = LOOKUP.unreflect(method);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+
+            if (isVisible(method.getDeclaringClass())) {
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(
+                            LOOKUP,
+                            "apply",
+                            MethodType.methodType(Function.class),
+                            MethodType.methodType(Object.class, Object.class),
+                            handle,
+                            MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass())
+                    );
+
+                    return (Function<Object, Object>) site.getTarget().invokeExact();
+                } catch (Throwable e) {
+                    //fallback to method handle
+                }
+            }
+
+            return generic(handle);
+        }
+
+        /**
+         * Lambda can't be spun for the field, so field getters are always method handles
+         */
+        @Nullable
+        static Function<Object, Object> getter(Field field) {
+            try {
+                return generic(LOOKUP.unreflectGetter(field));
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Primitive getters are built the same way as object ones, but the lambda returns int without boxing
+         */
+        @Nullable
+        static ToIntFunction<Object> intGetter(Member member) {
+            MethodHandle handle = unreflect(member);
+
+            if (handle == null) {
+                return null;
+            }
+
+            ToIntFunction<Object> lambda = metafactory(member, handle, ToIntFunction.class, "applyAsInt", int.class);
+
+            if (lambda != null) {
+                return lambda;
+            }
+
+            MethodHandle generic = handle.asType(MethodType.methodType(int.class, Object.class));
+
+            return o -> {
+                try {
+                    return (int) generic.invokeExact(o);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        }
+
+        @Nullable
+        static ToLongFunction<Object> longGetter(Member member) {
+            MethodHandle handle = unreflect(member);
+
+            if (handle == null) {
+                return null;
+            }
+
+            ToLongFunction<Object> lambda = metafactory(member, handle, ToLongFunction.class, "applyAsLong", long.class);
+
+            if (lambda != null) {
+                return lambda;
+            }
+
+            MethodHandle generic = handle.asType(MethodType.methodType(long.class, Object.class));
+
+            return o -> {
+                try {
+                    return (long) generic.invokeExact(o);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        }
+
+        @Nullable
+        static ToDoubleFunction<Object> doubleGetter(Member member) {
+            MethodHandle handle = unreflect(member);
+
+            if (handle == null) {
+                return null;
+            }
+
+            ToDoubleFunction<Object> lambda = metafactory(member, handle, ToDoubleFunction.class, "applyAsDouble", double.class);
+
+            if (lambda != null) {
+                return lambda;
+            }
+
+            MethodHandle generic = handle.asType(MethodType.methodType(double.class, Object.class));
+
+            return o -> {
+                try {
+                    return (double) generic.invokeExact(o);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        }
+
+        @Nullable
+        private static MethodHandle unreflect(Member member) {
+            try {
+                return (member instanceof Method) ? LOOKUP.unreflect((Method) member) : LOOKUP.unreflectGetter((Field) member);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return lambda of the functional interface which calls the method or null if lambda can't be spun (e.g. for fields)
+         */
+        @Nullable
+        private static <F> F metafactory(Member member, MethodHandle handle, Class<F> functionalInterface, String name, Class<?> returnType) {
+            if (!(member instanceof Method) || !isVisible(member.getDeclaringClass())) {
+                return null;
+            }
+
+            try {
+                CallSite site = LambdaMetafactory.metafactory(
+                        LOOKUP,
+                        name,
+                        MethodType.methodType(functionalInterface),
+                        MethodType.methodType(returnType, Object.class),
+                        handle,
+                        MethodType.methodType(returnType, member.getDeclaringClass())
+                );
+
+                return functionalInterface.cast(site.getTarget().invoke());
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        private static Function<Object, Object> generic(MethodHandle handle) {
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+
+            return o -> {
+                try {
+                    return (Object) generic.invokeExact(o);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        }
+
+        private static boolean isVisible(Class<?> clazz) {
+            try {
+                return Class.forName(clazz.getName(), false, Lambdas.class.getClassLoader()) == clazz;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+
+        private static Class<?> wrap(Class<?> clazz) {
+            return (clazz.isPrimitive()) ? MethodType.methodType(clazz).wrap().returnType() : clazz;
+        }
+    }
+}
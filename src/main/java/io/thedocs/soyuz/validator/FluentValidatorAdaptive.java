@@ -0,0 +1,278 @@
+package io.thedocs.soyuz.validator;
+
+import lombok.ToString;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Validation data which checks rules of the property in the order learned at runtime (see FluentValidatorBuilder#adaptive).
+ * <p>
+ * Some of the isValid calls are sampled: every rule which can be checked safely is evaluated and its cost and failures are recorded.
+ * Every {@link Settings#samplesPerPlan} samples rules are sorted by failures per nanosecond and the new plan is swapped in atomically.
+ * <p>
+ * Only isValid follows the plan. validate reports the first failing rule in declaration order, so every rule declared
+ * before it has to be checked anyway and declaration order is already the cheapest way to find it.
+ * <p>
+ * Rules of this library don't call user code and are moved freely. Other rules (custom, eq / notEq with function,
+ * nested validators, date rules with suppliers, own rule classes) keep all the rules declared before them in front of them,
+ * so they never get a value they wouldn't get in declaration order.
+ */
+@ToString(of = {"settings", "plan"})
+public class FluentValidatorAdaptive<R, V> implements FluentValidatorObjects.FluentValidatorValidationData<R, V> {
+
+    private final Settings settings;
+    private final Function mapFrom;
+    private final BiFunction<R, V, Boolean>[] when;
+    private final FluentValidatorRule<R, V>[] rules;
+    private final boolean[] barriers;
+    private final AtomicLongArray evaluations;
+    private final AtomicLongArray failures;
+    private final AtomicLongArray nanos;
+    private final AtomicInteger samples = new AtomicInteger();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int[] plan;
+
+    private FluentValidatorAdaptive(Settings settings, Function mapFrom, BiFunction<R, V, Boolean>[] when, FluentValidatorRule<R, V>[] rules) {
+        this.settings = settings;
+        this.mapFrom = mapFrom;
+        this.when = when;
+        this.rules = rules;
+        this.barriers = new boolean[rules.length];
+        this.evaluations = new AtomicLongArray(rules.length);
+        this.failures = new AtomicLongArray(rules.length);
+        this.nanos = new AtomicLongArray(rules.length);
+        this.plan = new int[rules.length];
+
+        for (int i = 0; i < rules.length; i++) {
+            barriers[i] = !isMovable(rules[i]);
+            plan[i] = i;
+        }
+    }
+
+    /**
+     * @return adaptive data or the same data if there is nothing to reorder (not a BaseData or less than two rules).
+     * Primitive properties are not wrapped either: they are checked without boxing, which saves more than the order of their rules
+     */
+    static <R, V> FluentValidatorObjects.FluentValidatorValidationData<R, V> of(FluentValidatorObjects.FluentValidatorValidationData<R, V> data, Settings settings) {
+        if (!(data instanceof FluentValidatorObjects.BaseData) || data instanceof FluentValidatorObjects.PrimitiveValidationData) {
+            return data;
+        }
+
+        FluentValidatorObjects.BaseData<R, V> baseData = (FluentValidatorObjects.BaseData<R, V>) data;
+        List<FluentValidatorRule<R, V>> rules = baseData.getRules();
+
+        if (rules.size() < 2) {
+            return data;
+        }
+
+        return new FluentValidatorAdaptive<>(settings, baseData.getMapFrom(), baseData.getWhen().toArray(new BiFunction[0]), rules.toArray(new FluentValidatorRule[0]));
+    }
+
+    @Override
+    public Fv.Result validate(R rootObject, String property, V value) {
+        return validate(rootObject, property, value, FluentValidatorContext.DEFAULT);
+    }
+
+    @Override
+    public Fv.Result validate(R rootObject, String property, V value, FluentValidatorContext context) {
+        if (mapFrom != null && value != null) {
+            value = (V) mapFrom.apply(value);
+        }
+
+        for (BiFunction<R, V, Boolean> whenItem : when) {
+            if (!whenItem.apply(rootObject, value)) {
+                return null;
+            }
+        }
+
+        for (FluentValidatorRule<R, V> rule : rules) {
+            Fv.Result result = rule.validate(rootObject, property, value, context);
+
+            if (result != null && result.hasErrors()) {
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+        if (mapFrom != null && value != null) {
+            value = (V) mapFrom.apply(value);
+        }
+
+        for (BiFunction<R, V, Boolean> whenItem : when) {
+            if (!whenItem.apply(rootObject, value)) {
+                return true;
+            }
+        }
+
+        if (isSampled()) {
+            return sample(rootObject, property, value, context);
+        }
+
+        for (int index : plan) {
+            if (!rules[index].isValid(rootObject, property, value, context)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return indexes of the rules (in declaration order) in the order they are checked now
+     */
+    int[] getPlan() {
+        return plan.clone();
+    }
+
+    private boolean isSampled() {
+        if (settings.frozen) {
+            return false;
+        } else if (settings.deterministic) {
+            return calls.incrementAndGet() % settings.sampleRate == 0;
+        } else {
+            return ThreadLocalRandom.current().nextInt(settings.sampleRate) == 0;
+        }
+    }
+
+    /**
+     * Checks rules in declaration order. After the first failure only movable rules are checked, they can't throw on unexpected values
+     */
+    private boolean sample(R rootObject, String property, V value, FluentValidatorContext context) {
+        boolean valid = true;
+
+        for (int i = 0; i < rules.length; i++) {
+            if (!valid && barriers[i]) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            boolean ruleValid = rules[i].isValid(rootObject, property, value, context);
+
+            nanos.addAndGet(i, System.nanoTime() - start);
+            evaluations.incrementAndGet(i);
+
+            if (!ruleValid) {
+                failures.incrementAndGet(i);
+                valid = false;
+            }
+        }
+
+        if (samples.incrementAndGet() % settings.samplesPerPlan == 0) {
+            plan = newPlan();
+        }
+
+        return valid;
+    }
+
+    /**
+     * Greedy plan: the next rule is the one with most failures per nanosecond among the rules which can go next
+     * (barrier rule can go only after all rules declared before it)
+     */
+    private int[] newPlan() {
+        double[] ranks = new double[rules.length];
+
+        for (int i = 0; i < rules.length; i++) {
+            long evaluated = evaluations.get(i);
+
+            ranks[i] = (evaluated == 0) ? 0 : (double) failures.get(i) / Math.max(1, nanos.get(i));
+        }
+
+        int[] answer = new int[rules.length];
+        boolean[] placed = new boolean[rules.length];
+        int firstNotPlaced = 0;
+
+        for (int position = 0; position < answer.length; position++) {
+            int best = -1;
+
+            for (int i = firstNotPlaced; i < rules.length; i++) {
+                if (placed[i] || (barriers[i] && i != firstNotPlaced)) {
+                    continue;
+                }
+
+                if (best < 0 || ranks[i] > ranks[best]) {
+                    best = i;
+                }
+            }
+
+            answer[position] = best;
+            placed[best] = true;
+
+            while (firstNotPlaced < rules.length && placed[firstNotPlaced]) {
+                firstNotPlaced++;
+            }
+        }
+
+        return answer;
+    }
+
+    private static boolean isMovable(FluentValidatorRule<?, ?> rule) {
+        if (rule instanceof FluentValidatorRule.Base.Custom
+                || rule instanceof FluentValidatorRule.Base.AsyncCustom
+                || rule instanceof FluentValidatorRule.Base.BatchedCustom
+                || rule instanceof FluentValidatorRule.Base.EqFunction
+                || rule instanceof FluentValidatorRule.Base.NotEqFunction
+                || rule instanceof FluentValidatorRule.Base.Validator
+                || rule instanceof FluentValidatorRule.Coll.ItemValidator
+                || rule instanceof FluentValidatorRule.D.DateRule) {
+            return false;
+        }
+
+        return rule.getClass().getName().startsWith(FluentValidatorRule.class.getName() + "$");
+    }
+
+    /**
+     * Settings of the adaptive rule ordering
+     */
+    @ToString
+    public static class Settings {
+
+        public static final Settings DEFAULT = new Settings(64, 32, false, false);
+
+        private final int sampleRate;
+        private final int samplesPerPlan;
+        private final boolean deterministic;
+        private final boolean frozen;
+
+        private Settings(int sampleRate, int samplesPerPlan, boolean deterministic, boolean frozen) {
+            if (sampleRate < 1 || samplesPerPlan < 1) {
+                throw new IllegalArgumentException("sampleRate and samplesPerPlan must be positive");
+            }
+
+            this.sampleRate = sampleRate;
+            this.samplesPerPlan = samplesPerPlan;
+            this.deterministic = deterministic;
+            this.frozen = frozen;
+        }
+
+        /**
+         * @param sampleRate     one of sampleRate isValid calls (chosen randomly) collects statistics
+         * @param samplesPerPlan rules are re-planned after this number of samples
+         */
+        public static Settings of(int sampleRate, int samplesPerPlan) {
+            return new Settings(sampleRate, samplesPerPlan, false, false);
+        }
+
+        /**
+         * Every sampleRate-th call collects statistics, so the plan evolves in the same way on every run of a single threaded test
+         */
+        public static Settings deterministic(int sampleRate, int samplesPerPlan) {
+            return new Settings(sampleRate, samplesPerPlan, true, false);
+        }
+
+        /**
+         * No statistics are collected and rules are always checked in declaration order
+         */
+        public static Settings frozen() {
+            return new Settings(1, 1, true, true);
+        }
+    }
+}
@@ -3,9 +3,13 @@ package io.thedocs.soyuz.validator;
 import lombok.ToString;
 
 import javax.annotation.Nullable;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
@@ -15,25 +19,66 @@ import java.util.regex.Pattern;
 public class FluentValidatorBuilder<T> {
 
     private String rootProperty;
+    private Class<T> rootClass;
+    private FluentValidatorAccessor.KeyTable keys;
+    private boolean failFast;
+    private Clock clock = Clock.systemDefaultZone();
+    private FluentValidatorAdaptive.Settings adaptive;
     private List<ValidationDataWithProperties> validationData = new ArrayList<>();
 
     public FluentValidatorBuilder() {
-        this(null);
+        this(null, null);
     }
 
     public FluentValidatorBuilder(String rootProperty) {
+        this(rootProperty, null);
+    }
+
+    public FluentValidatorBuilder(@Nullable String rootProperty, @Nullable Class<T> rootClass) {
         this.rootProperty = rootProperty;
+        this.rootClass = rootClass;
+    }
+
+    /**
+     * Stop validation on the first invalid property. Can be overridden per call with Fv.Validator#validate(rootObject, failFast)
+     */
+    public FluentValidatorBuilder<T> failFast() {
+        return failFast(true);
+    }
+
+    public FluentValidatorBuilder<T> failFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    /**
+     * Clock of the date rules. Current time is read once per validation, so all date rules compare with the same "now"
+     */
+    public FluentValidatorBuilder<T> clock(Clock clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    /**
+     * Learn the order of the rules at runtime: rules which fail often and cost little are checked first by isValid.
+     * Reported errors stay the same as in declaration order (see FluentValidatorAdaptive)
+     */
+    public FluentValidatorBuilder<T> adaptive() {
+        return adaptive(FluentValidatorAdaptive.Settings.DEFAULT);
     }
 
-//todo
-//    public FluentValidatorBuilder<T> failFast() {
-//        return failFast(true);
-//    }
-//
-//    public FluentValidatorBuilder<T> failFast(boolean failFast) {
-//        data.setFailFast(failFast);
-//        return this;
-//    }
+    public FluentValidatorBuilder<T> adaptive(FluentValidatorAdaptive.Settings settings) {
+        this.adaptive = settings;
+        return this;
+    }
+
+    /**
+     * Keys of map properties are interned in this table. Use the same table in your decoder to make map lookups cheaper
+     */
+    public FluentValidatorBuilder<T> keys(FluentValidatorAccessor.KeyTable keys) {
+        this.keys = keys;
+        return this;
+    }
 
     public RootBuilder<T> self() {
         return new RootBuilder<>(this);
@@ -75,6 +120,14 @@ public class FluentValidatorBuilder<T> {
         return new PrimitiveIntBuilder<>(this, getFullProperty(property));
     }
 
+    public PrimitiveLongBuilder<T> primitiveLong(String property) {
+        return new PrimitiveLongBuilder<>(this, getFullProperty(property));
+    }
+
+    public PrimitiveDoubleBuilder<T> primitiveDouble(String property) {
+        return new PrimitiveDoubleBuilder<>(this, getFullProperty(property));
+    }
+
     public IntegerBuilder<T> integer(String property) {
         return new IntegerBuilder<>(this, getFullProperty(property));
     }
@@ -88,7 +141,44 @@ public class FluentValidatorBuilder<T> {
     }
 
     public Fv.Validator<T> build() {
-        return new FluentValidatorImpl<T>(validationData);
+        fuseRules();
+
+        return new FluentValidatorImpl<T>(this, false);
+    }
+
+    /**
+     * Builds validator with rules of every property compiled to its own chain of method handles (see FluentValidatorObjects.CompiledData).
+     * Use it for hot validators
+     */
+    public Fv.Validator<T> buildCompiled() {
+        fuseRules();
+
+        return new FluentValidatorImpl<T>(this, true);
+    }
+
+    Class<T> getRootClass() {
+        return rootClass;
+    }
+
+    List<ValidationDataWithProperties> getValidationData() {
+        return validationData;
+    }
+
+    FluentValidatorAccessor.KeyTable getKeys() {
+        return keys;
+    }
+
+    boolean isFailFast() {
+        return failFast;
+    }
+
+    Clock getClock() {
+        return clock;
+    }
+
+    @Nullable
+    FluentValidatorAdaptive.Settings getAdaptive() {
+        return adaptive;
     }
 
     private FluentValidatorBuilder<T> addFluentValidatorValidationData(String property, FluentValidatorObjects.FluentValidatorValidationData validationData) {
@@ -97,6 +187,23 @@ public class FluentValidatorBuilder<T> {
         return this;
     }
 
+    /**
+     * Contiguous bounded rules of every property are fused into a single range check (see FluentValidatorRule.Fused).
+     * Rules are replaced only if something is fused, so building again without new rules leaves them as they are
+     */
+    private void fuseRules() {
+        for (ValidationDataWithProperties entry : validationData) {
+            if (entry.getData() instanceof FluentValidatorObjects.BaseData) {
+                FluentValidatorObjects.BaseData data = (FluentValidatorObjects.BaseData) entry.getData();
+                List fused = FluentValidatorRule.Fused.fuse(data.getRules());
+
+                if (fused.size() < data.getRules().size()) {
+                    data.setRules(fused);
+                }
+            }
+        }
+    }
+
     private String getFullProperty(String property) {
         if (rootProperty == null) {
             return property;
@@ -132,6 +239,60 @@ public class FluentValidatorBuilder<T> {
         }
     }
 
+    public static class PrimitiveLongBuilder<R> extends AbstractBuilder<R, Long, PrimitiveLongBuilder<R>, FluentValidatorObjects.LongData<R>> {
+
+        public PrimitiveLongBuilder(FluentValidatorBuilder<R> builder, String property) {
+            super(builder, new FluentValidatorObjects.LongData<>(), property);
+        }
+
+        public PrimitiveLongBuilder<R> greaterOrEqual(long value) {
+            data.addRule(new FluentValidatorRule.Lng.GreaterOrEqual<>(value));
+            return this;
+        }
+
+        public PrimitiveLongBuilder<R> greaterThan(long value) {
+            data.addRule(new FluentValidatorRule.Lng.GreaterThan<>(value));
+            return this;
+        }
+
+        public PrimitiveLongBuilder<R> lessOrEqual(long value) {
+            data.addRule(new FluentValidatorRule.Lng.LessOrEqual<>(value));
+            return this;
+        }
+
+        public PrimitiveLongBuilder<R> lessThan(long value) {
+            data.addRule(new FluentValidatorRule.Lng.LessThan<>(value));
+            return this;
+        }
+    }
+
+    public static class PrimitiveDoubleBuilder<R> extends AbstractBuilder<R, Double, PrimitiveDoubleBuilder<R>, FluentValidatorObjects.DoubleData<R>> {
+
+        public PrimitiveDoubleBuilder(FluentValidatorBuilder<R> builder, String property) {
+            super(builder, new FluentValidatorObjects.DoubleData<>(), property);
+        }
+
+        public PrimitiveDoubleBuilder<R> greaterOrEqual(double value) {
+            data.addRule(new FluentValidatorRule.Dbl.GreaterOrEqual<>(value));
+            return this;
+        }
+
+        public PrimitiveDoubleBuilder<R> greaterThan(double value) {
+            data.addRule(new FluentValidatorRule.Dbl.GreaterThan<>(value));
+            return this;
+        }
+
+        public PrimitiveDoubleBuilder<R> lessOrEqual(double value) {
+            data.addRule(new FluentValidatorRule.Dbl.LessOrEqual<>(value));
+            return this;
+        }
+
+        public PrimitiveDoubleBuilder<R> lessThan(double value) {
+            data.addRule(new FluentValidatorRule.Dbl.LessThan<>(value));
+            return this;
+        }
+    }
+
     public static class IntegerBuilder<R> extends AbstractNumberBuilder<R, Integer, IntegerBuilder<R>, FluentValidatorObjects.NumberData<R, Integer>> {
         public IntegerBuilder(FluentValidatorBuilder<R> builder, String property) {
             super(builder, new FluentValidatorObjects.NumberData<>(), property);
@@ -192,6 +353,14 @@ public class FluentValidatorBuilder<T> {
             return new PrimitiveIntBuilder<>(builder, null);
         }
 
+        public PrimitiveLongBuilder<R> primitiveLong() {
+            return new PrimitiveLongBuilder<>(builder, null);
+        }
+
+        public PrimitiveDoubleBuilder<R> primitiveDouble() {
+            return new PrimitiveDoubleBuilder<>(builder, null);
+        }
+
         public IntegerBuilder<R> integer() {
             return new IntegerBuilder<>(builder, null);
         }
@@ -217,6 +386,21 @@ public class FluentValidatorBuilder<T> {
             return this;
         }
 
+        public StringBuilder<R> url(String... schemes) {
+            data.addRule(new FluentValidatorRule.Str.Url<>(Arrays.asList(schemes)));
+
+            return this;
+        }
+
+        /**
+         * Checks url with java.net.URL: scheme must have a protocol handler, other parts are hardly checked
+         */
+        public StringBuilder<R> legacyUrl() {
+            data.addRule(new FluentValidatorRule.Str.LegacyUrl<>());
+
+            return this;
+        }
+
         public StringBuilder<R> email() {
             data.addRule(new FluentValidatorRule.Str.Email<>());
 
@@ -311,36 +495,81 @@ public class FluentValidatorBuilder<T> {
 
     public static class DateBuilder<R> extends AbstractDateBuilder<R, Date, DateBuilder<R>, FluentValidatorObjects.DateData<R>> {
         public DateBuilder(FluentValidatorBuilder<R> builder, String property) {
-            super(builder, new FluentValidatorObjects.DateData<>(), property, getComparableComparator());
+            super(builder, new FluentValidatorObjects.DateData<>(), property, getComparableComparator(), NOW_DATE);
         }
     }
 
     public static class LocalDateBuilder<R> extends AbstractDateBuilder<R, LocalDate, LocalDateBuilder<R>, FluentValidatorObjects.LocalDateData<R>> {
         public LocalDateBuilder(FluentValidatorBuilder<R> builder, String property) {
-            super(builder, new FluentValidatorObjects.LocalDateData<>(), property, getComparableComparator());
+            super(builder, new FluentValidatorObjects.LocalDateData<>(), property, getComparableComparator(), NOW_LOCAL_DATE);
         }
     }
 
     public static class LocalTimeBuilder<R> extends AbstractDateBuilder<R, LocalTime, LocalTimeBuilder<R>, FluentValidatorObjects.LocalTimeData<R>> {
         public LocalTimeBuilder(FluentValidatorBuilder<R> builder, String property) {
-            super(builder, new FluentValidatorObjects.LocalTimeData<>(), property, getComparableComparator());
+            super(builder, new FluentValidatorObjects.LocalTimeData<>(), property, getComparableComparator(), NOW_LOCAL_TIME);
         }
     }
 
     public static abstract class AbstractDateBuilder<R, V, BuilderClass, DataClass extends FluentValidatorObjects.BaseData<R, V>> extends AbstractObjectBuilder<R, V, BuilderClass, DataClass> {
 
         private Comparator<V> comparator;
+        private Function<FluentValidatorContext, V> now;
 
         public AbstractDateBuilder(FluentValidatorBuilder<R> builder, DataClass data, String property, Comparator<V> comparator) {
+            this(builder, data, property, comparator, null);
+        }
+
+        /**
+         * @param now converts the clock of the validation to the current value (e.g. LocalDate::now)
+         */
+        public AbstractDateBuilder(FluentValidatorBuilder<R> builder, DataClass data, String property, Comparator<V> comparator, @Nullable Function<Clock, V> now) {
             super(builder, data, property);
 
             this.comparator = comparator;
+            this.now = (now == null) ? null : context -> context.now(now);
+        }
+
+        /**
+         * Compares with the current time of the validation. Unlike lessThan(LocalDate::now) clock is read once per validation
+         * and can be replaced with FluentValidatorBuilder#clock
+         */
+        public BuilderClass lessThanNow() {
+            data.addRule(new FluentValidatorRule.D.LessThan<>(getNow(), comparator));
+
+            return _this();
+        }
+
+        public BuilderClass lessOrEqualNow() {
+            data.addRule(new FluentValidatorRule.D.LessOrEqual<>(getNow(), comparator));
+
+            return _this();
+        }
+
+        public BuilderClass greaterThanNow() {
+            data.addRule(new FluentValidatorRule.D.GreaterThan<>(getNow(), comparator));
+
+            return _this();
+        }
+
+        public BuilderClass greaterOrEqualNow() {
+            data.addRule(new FluentValidatorRule.D.GreaterOrEqual<>(getNow(), comparator));
+
+            return _this();
         }
 
         public BuilderClass lessThan(V date) {
             return lessThan(() -> date);
         }
 
+        private Function<FluentValidatorContext, V> getNow() {
+            if (now == null) {
+                throw new IllegalStateException("Builder of the property '" + property + "' doesn't know how to get the current value, compare with the supplier instead");
+            }
+
+            return now;
+        }
+
         public BuilderClass lessThan(Supplier<V> dateSupplier) {
             data.addRule(new FluentValidatorRule.D.LessThan<>(dateSupplier, comparator));
 
@@ -429,6 +658,23 @@ public class FluentValidatorBuilder<T> {
 
             return _this();
         }
+
+        /**
+         * Validates items of lists with threshold or more items in parallel on the common ForkJoinPool
+         */
+        public CollectionBuilder<R, V> itemValidator(Fv.Validator<V> validator, int threshold) {
+            return itemValidator(validator, threshold, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Validates items of RandomAccess lists with threshold or more items in chunks on the executor.
+         * Errors are merged in index order, so the result is the same as the sequential one
+         */
+        public CollectionBuilder<R, V> itemValidator(Fv.Validator<V> validator, int threshold, Executor executor) {
+            data.addRule(new FluentValidatorRule.Coll.ParallelItemValidator<>(validator, threshold, executor));
+
+            return _this();
+        }
     }
 
     public static class ObjectBuilder<R, V> extends AbstractObjectBuilder<R, V, ObjectBuilder<R, V>, FluentValidatorObjects.ObjectData<R, V>> {
@@ -504,6 +750,10 @@ public class FluentValidatorBuilder<T> {
 
     }
 
+    private static final Function<Clock, Date> NOW_DATE = clock -> new Date(clock.millis());
+    private static final Function<Clock, LocalDate> NOW_LOCAL_DATE = LocalDate::now;
+    private static final Function<Clock, LocalTime> NOW_LOCAL_TIME = LocalTime::now;
+
     private static <V extends Comparable> Comparator<V> getComparableComparator() {
         return (o1, o2) -> {
             if (o1 == null) {
@@ -0,0 +1,198 @@
+package io.thedocs.soyuz.validator;
+
+import io.thedocs.soyuz.err.Err;
+import io.thedocs.soyuz.err.Errors;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Validator which memoizes results of validate(rootObject) per root object. Use it for immutable objects which are validated again and again
+ * (catalog entries, configs). Roots are identified either by identity (weak keys, so cached objects are not kept in memory)
+ * or by the key function (e.g. id and version of the object).
+ * <p>
+ * Validators whose result can change for the same object (date rules or custom rules, including nested validators) are detected
+ * and are not cached: such wrapper just delegates. Cache is bounded: the oldest roots are dropped first.
+ * Only validate(rootObject) and isValid(rootObject) use the cache, calls with explicit context are delegated.
+ */
+@ToString(of = {"validator", "maxSize", "cacheable"})
+public class FluentValidatorCache<T> implements Fv.Validator<T> {
+
+    private final Fv.Validator<T> validator;
+    private final Function<T, ?> key;
+    private final int maxSize;
+    private final boolean cacheable;
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Object> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger orderSize = new AtomicInteger();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    private FluentValidatorCache(Fv.Validator<T> validator, @Nullable Function<T, ?> key, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+
+        this.validator = validator;
+        this.key = key;
+        this.maxSize = maxSize;
+        this.cacheable = validator instanceof FluentValidatorImpl && ((FluentValidatorImpl<T>) validator).isCacheable();
+    }
+
+    /**
+     * Caches results by identity of the root object. Keys are weak, results of collected objects are dropped
+     */
+    public static <T> FluentValidatorCache<T> byIdentity(Fv.Validator<T> validator, int maxSize) {
+        return new FluentValidatorCache<>(validator, null, maxSize);
+    }
+
+    /**
+     * Caches results by the key of the root object, e.g. (id, version). Objects with the same key must have the same result
+     */
+    public static <T> FluentValidatorCache<T> byKey(Fv.Validator<T> validator, Function<T, ?> key, int maxSize) {
+        return new FluentValidatorCache<>(validator, key, maxSize);
+    }
+
+    /**
+     * @return false if validator can't be cached and calls are just delegated
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    @Override
+    public Fv.Result<T> validate(T rootObject) {
+        if (!cacheable || rootObject == null) {
+            return validator.validate(rootObject);
+        }
+
+        Entry entry = entries.get(lookupKey(rootObject));
+
+        if (entry == null) {
+            Fv.Result<T> result = validator.validate(rootObject);
+
+            put(rootObject, new Entry(result.hasErrors() ? new ArrayList<>(result.getErrors().get()) : null));
+
+            return result;
+        }
+
+        return (entry.errors == null) ? Fv.Result.success(rootObject) : Fv.Result.failure(rootObject, Errors.reject(new ArrayList<>(entry.errors)));
+    }
+
+    @Override
+    public Fv.Result<T> validate(T rootObject, boolean failFast) {
+        return validator.validate(rootObject, failFast);
+    }
+
+    @Override
+    public Fv.Result<T> validate(T rootObject, FluentValidatorContext context) {
+        return validator.validate(rootObject, context);
+    }
+
+    @Override
+    public boolean isValid(T rootObject) {
+        Entry entry = (cacheable && rootObject != null) ? entries.get(lookupKey(rootObject)) : null;
+
+        return (entry == null) ? validator.isValid(rootObject) : entry.errors == null;
+    }
+
+    @Override
+    public boolean isValid(T rootObject, FluentValidatorContext context) {
+        return validator.isValid(rootObject, context);
+    }
+
+    @Override
+    public Errors findErrors(T rootObject, FluentValidatorContext context) {
+        return validator.findErrors(rootObject, context);
+    }
+
+    public void invalidate(T rootObject) {
+        entries.remove(lookupKey(rootObject));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        order.clear();
+        orderSize.set(0);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Object lookupKey(T rootObject) {
+        return (key == null) ? new IdentityKey(rootObject, null) : key.apply(rootObject);
+    }
+
+    private void put(T rootObject, Entry entry) {
+        Object cacheKey = (key == null) ? new IdentityKey(rootObject, collected) : key.apply(rootObject);
+
+        for (Object reference = collected.poll(); reference != null; reference = collected.poll()) {
+            entries.remove(reference);
+        }
+
+        if (entries.putIfAbsent(cacheKey, entry) == null) {
+            order.add(cacheKey);
+            orderSize.incrementAndGet();
+
+            //order can also contain keys which are invalidated or collected already, they are dropped here too
+            while (entries.size() > maxSize || orderSize.get() > maxSize * 2) {
+                Object oldest = order.poll();
+
+                if (oldest == null) {
+                    break;
+                }
+
+                orderSize.decrementAndGet();
+                entries.remove(oldest);
+            }
+        }
+    }
+
+    /**
+     * Errors are kept without the root object, so cache doesn't hold roots strongly. Errors container is mutable,
+     * so entry keeps its own copy of the errors and every hit gets a new container
+     */
+    private static class Entry {
+        private final List<Err> errors;
+
+        Entry(@Nullable List<Err> errors) {
+            this.errors = errors;
+        }
+    }
+
+    private static class IdentityKey extends WeakReference<Object> {
+        private final int hash;
+
+        IdentityKey(Object referent, @Nullable ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            } else if (!(other instanceof IdentityKey)) {
+                return false;
+            }
+
+            Object referent = get();
+
+            return referent != null && referent == ((IdentityKey) other).get();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package io.thedocs.soyuz.validator;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Checks of the compiled property (see FluentValidatorBuilder#buildCompiled) built as a single chain of method handles
+ * (rootObject, property, value, context) -> result. Rules, when conditions and mapFrom are bound into the chain, so it is not a loop
+ * which calls rules of all validators through the same interface call site:
+ * <ul>
+ * <li>bounded rules (length / size / range / not null, fused or not) are replaced by static range checks with bound limits</li>
+ * <li>other rules are bound as receivers of their own validate / isValid</li>
+ * </ul>
+ * After a number of calls JVM customizes the chain of every property: its bound values become constants of the generated code,
+ * so every property gets its own code with direct (inlinable) calls of its rules.
+ * <p>
+ * Primitive chains take int / long / double value. Rules are checked without boxing when possible, value is boxed only
+ * to build an error or for rules which can't check primitive value.
+ */
+class FluentValidatorChain {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType VALIDATE = MethodType.methodType(Fv.Result.class, Object.class, String.class, Object.class, FluentValidatorContext.class);
+    private static final MethodType IS_VALID = VALIDATE.changeReturnType(boolean.class);
+
+    private static final MethodHandle RULE_VALIDATE = findVirtual(FluentValidatorRule.class, "validate", VALIDATE);
+    private static final MethodHandle RULE_IS_VALID = findVirtual(FluentValidatorRule.class, "isValid", IS_VALID);
+    private static final MethodHandle IS_VALID_INT = findVirtual(FluentValidatorRule.OfInt.class, "isValidInt", MethodType.methodType(boolean.class, Object.class, int.class));
+    private static final MethodHandle IS_VALID_LONG = findVirtual(FluentValidatorRule.OfLong.class, "isValidLong", MethodType.methodType(boolean.class, Object.class, long.class));
+    private static final MethodHandle IS_VALID_DOUBLE = findVirtual(FluentValidatorRule.OfDouble.class, "isValidDouble", MethodType.methodType(boolean.class, Object.class, double.class));
+
+    private static final MethodHandle IS_PRESENT = findStatic("isPresent", boolean.class, boolean.class, Object.class);
+    private static final MethodHandle IS_LENGTH_IN_RANGE = findStatic("isLengthInRange", boolean.class, long.class, long.class, boolean.class, String.class);
+    private static final MethodHandle IS_SIZE_IN_RANGE = findStatic("isSizeInRange", boolean.class, long.class, long.class, boolean.class, Collection.class);
+    private static final MethodHandle IS_INTEGER_IN_RANGE = findStatic("isIntegerInRange", boolean.class, long.class, long.class, boolean.class, Integer.class);
+    private static final MethodHandle IS_LONG_IN_RANGE = findStatic("isLongInRange", boolean.class, long.class, long.class, boolean.class, Long.class);
+    private static final MethodHandle IS_INT_IN_RANGE = findStatic("isInRange", boolean.class, long.class, long.class, int.class);
+    private static final MethodHandle IS_PRIMITIVE_LONG_IN_RANGE = findStatic("isInRange", boolean.class, long.class, long.class, long.class);
+    private static final MethodHandle HAS_ERRORS = findStatic("hasErrors", boolean.class, Fv.Result.class);
+    private static final MethodHandle WHEN = findStatic("when", boolean.class, BiFunction.class, Object.class, Object.class);
+    private static final MethodHandle MAP = findStatic("map", Object.class, Function.class, Object.class);
+
+    /**
+     * @param type type of the value: Object.class or primitive type
+     * @return chain (rootObject, property, value, context) -> the first failed result or null
+     */
+    static MethodHandle validate(FluentValidatorRule<?, ?>[] rules, Class<?> type) {
+        MethodType chainType = VALIDATE.changeParameterType(2, type);
+        MethodHandle answer = constant(chainType, null);
+
+        for (int i = rules.length - 1; i >= 0; i--) {
+            MethodHandle check = getCheck(rules[i], type);
+            MethodHandle failure = firstError(RULE_VALIDATE.bindTo(rules[i]).asType(chainType), answer);
+
+            answer = (check == null) ? failure : MethodHandles.guardWithTest(check, answer, failure);
+        }
+
+        return answer;
+    }
+
+    /**
+     * @param type type of the value: Object.class or primitive type
+     * @return chain (rootObject, property, value, context) -> true if all rules are passed
+     */
+    static MethodHandle isValid(FluentValidatorRule<?, ?>[] rules, Class<?> type) {
+        MethodType chainType = IS_VALID.changeParameterType(2, type);
+        MethodHandle answer = constant(chainType, true);
+
+        for (int i = rules.length - 1; i >= 0; i--) {
+            MethodHandle check = getCheck(rules[i], type);
+
+            if (check == null) {
+                check = RULE_IS_VALID.bindTo(rules[i]).asType(chainType);
+            }
+
+            answer = MethodHandles.guardWithTest(check, answer, constant(chainType, false));
+        }
+
+        return answer;
+    }
+
+    /**
+     * @param chain  chain of Object value
+     * @param result result of the chain if some of when conditions is not met (null for validate, true for isValid)
+     * @return chain which maps the value and checks when conditions before the rules
+     */
+    static MethodHandle conditional(MethodHandle chain, @Nullable Function mapFrom, BiFunction[] when, @Nullable Object result) {
+        MethodHandle answer = chain;
+
+        for (int i = when.length - 1; i >= 0; i--) {
+            MethodHandle condition = MethodHandles.dropArguments(MethodHandles.insertArguments(WHEN, 0, when[i]), 1, String.class);
+
+            answer = MethodHandles.guardWithTest(condition, answer, constant(chain.type(), result));
+        }
+
+        if (mapFrom != null) {
+            answer = MethodHandles.filterArguments(answer, 2, MAP.bindTo(mapFrom));
+        }
+
+        return answer;
+    }
+
+    /**
+     * @return check (rootObject, property, value, context) -> boolean which doesn't call the rule or null if rule is checked by itself
+     */
+    @Nullable
+    private static MethodHandle getCheck(FluentValidatorRule<?, ?> rule, Class<?> type) {
+        MethodHandle check = (rule instanceof FluentValidatorRule.Bounded) ? getRangeCheck((FluentValidatorRule.Bounded) rule, type) : null;
+
+        if (check != null) {
+            check = MethodHandles.dropArguments(check, 0, Object.class);
+        } else if (type == int.class && rule instanceof FluentValidatorRule.OfInt) {
+            check = IS_VALID_INT.bindTo(rule);
+        } else if (type == long.class && rule instanceof FluentValidatorRule.OfLong) {
+            check = IS_VALID_LONG.bindTo(rule);
+        } else if (type == double.class && rule instanceof FluentValidatorRule.OfDouble) {
+            check = IS_VALID_DOUBLE.bindTo(rule);
+        } else {
+            return null;
+        }
+
+        //(rootObject, value) -> (rootObject, property, value, context)
+        return MethodHandles.dropArguments(MethodHandles.dropArguments(check, 1, String.class), 3, FluentValidatorContext.class);
+    }
+
+    /**
+     * @return check (value) -> boolean or null if measure of the rule doesn't fit the type of the value
+     */
+    @Nullable
+    private static MethodHandle getRangeCheck(FluentValidatorRule.Bounded rule, Class<?> type) {
+        FluentValidatorRule.Measure measure = rule.getMeasure();
+
+        if (type == int.class) {
+            return (measure == FluentValidatorRule.Measure.INT) ? MethodHandles.insertArguments(IS_INT_IN_RANGE, 0, rule.getMin(), rule.getMax()) : null;
+        } else if (type == long.class) {
+            return (measure == FluentValidatorRule.Measure.LONG) ? MethodHandles.insertArguments(IS_PRIMITIVE_LONG_IN_RANGE, 0, rule.getMin(), rule.getMax()) : null;
+        } else if (type != Object.class) {
+            return null;
+        }
+
+        MethodHandle check;
+
+        if (measure == null) {
+            check = MethodHandles.insertArguments(IS_PRESENT, 0, rule.isNullValid());
+        } else if (measure == FluentValidatorRule.Measure.LENGTH) {
+            check = MethodHandles.insertArguments(IS_LENGTH_IN_RANGE, 0, rule.getMin(), rule.getMax(), rule.isNullValid());
+        } else if (measure == FluentValidatorRule.Measure.SIZE) {
+            check = MethodHandles.insertArguments(IS_SIZE_IN_RANGE, 0, rule.getMin(), rule.getMax(), rule.isNullValid());
+        } else if (measure == FluentValidatorRule.Measure.INT) {
+            check = MethodHandles.insertArguments(IS_INTEGER_IN_RANGE, 0, rule.getMin(), rule.getMax(), rule.isNullValid());
+        } else {
+            check = MethodHandles.insertArguments(IS_LONG_IN_RANGE, 0, rule.getMin(), rule.getMax(), rule.isNullValid());
+        }
+
+        return check.asType(MethodType.methodType(boolean.class, Object.class));
+    }
+
+    /**
+     * @return chain which returns result of the validate if it has errors, otherwise result of the next chain
+     */
+    private static MethodHandle firstError(MethodHandle validate, MethodHandle next) {
+        MethodHandle result = MethodHandles.dropArguments(MethodHandles.identity(Fv.Result.class), 1, next.type().parameterList());
+        MethodHandle pick = MethodHandles.guardWithTest(HAS_ERRORS, result, MethodHandles.dropArguments(next, 0, Fv.Result.class));
+
+        return MethodHandles.foldArguments(pick, validate);
+    }
+
+    private static MethodHandle constant(MethodType type, @Nullable Object value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(type.returnType(), value), 0, type.parameterList());
+    }
+
+    private static boolean isPresent(boolean nullValid, Object value) {
+        return value != null || nullValid;
+    }
+
+    private static boolean isLengthInRange(long min, long max, boolean nullValid, String value) {
+        return (value == null) ? nullValid : value.length() >= min && value.length() <= max;
+    }
+
+    private static boolean isSizeInRange(long min, long max, boolean nullValid, Collection value) {
+        return (value == null) ? nullValid : value.size() >= min && value.size() <= max;
+    }
+
+    private static boolean isIntegerInRange(long min, long max, boolean nullValid, Integer value) {
+        return (value == null) ? nullValid : value >= min && value <= max;
+    }
+
+    private static boolean isLongInRange(long min, long max, boolean nullValid, Long value) {
+        return (value == null) ? nullValid : value >= min && value <= max;
+    }
+
+    private static boolean isInRange(long min, long max, int value) {
+        return value >= min && value <= max;
+    }
+
+    private static boolean isInRange(long min, long max, long value) {
+        return value >= min && value <= max;
+    }
+
+    private static boolean hasErrors(Fv.Result result) {
+        return result != null && result.hasErrors();
+    }
+
+    private static boolean when(BiFunction when, Object rootObject, Object value) {
+        return (Boolean) when.apply(rootObject, value);
+    }
+
+    private static Object map(Function mapFrom, Object value) {
+        return (value == null) ? null : mapFrom.apply(value);
+    }
+
+    private static MethodHandle findVirtual(Class<?> clazz, String name, MethodType type) {
+        try {
+            return LOOKUP.findVirtual(clazz, name, type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static MethodHandle findStatic(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return LOOKUP.findStatic(FluentValidatorChain.class, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
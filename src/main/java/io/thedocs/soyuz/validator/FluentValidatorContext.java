@@ -0,0 +1,251 @@
+package io.thedocs.soyuz.validator;
+
+import lombok.ToString;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Settings of the single validation call. Context is passed down to nested validators and collection items,
+ * so the whole object graph is validated in the same mode.
+ * <p>
+ * Context created with {@link #of(boolean, Clock)} also makes the validation consistent in time: current time is captured
+ * on the first use and values of date suppliers are computed once, so all date rules (of all properties and items) see the same "now".
+ * Reuse such context to share the snapshot across a batch of objects.
+ * <p>
+ * Such context also collects keys of batched custom rules (see BaseBuilder#customBatched): keys requested while validator
+ * walks the object (all properties, nested objects and items, all rows of validateAll) are looked up with a single call per lookup.
+ * Shared contexts look up every key at once.
+ */
+@ToString(of = "failFast")
+public class FluentValidatorContext {
+
+    public static final FluentValidatorContext DEFAULT = new FluentValidatorContext(false, null);
+    public static final FluentValidatorContext FAIL_FAST = new FluentValidatorContext(true, null);
+
+    private final boolean failFast;
+    private final Clock clock;
+    /**
+     * Context which owns the state (time snapshot, values, batched keys) if this one is its fail fast view
+     */
+    private final FluentValidatorContext source;
+    private Clock snapshot;
+    private Map<Object, Object> values;
+    private Map<FluentValidatorObjects.CustomValidator.Batched, Map<Object, CompletableFuture<Boolean>>> loaded;
+    private Map<FluentValidatorObjects.CustomValidator.Batched, Map<Object, CompletableFuture<Boolean>>> pending;
+    private int batches;
+
+    private FluentValidatorContext(boolean failFast, Clock clock) {
+        this(failFast, clock, null);
+    }
+
+    private FluentValidatorContext(boolean failFast, Clock clock, FluentValidatorContext source) {
+        this.failFast = failFast;
+        this.clock = clock;
+        this.source = source;
+    }
+
+    public static FluentValidatorContext of(boolean failFast) {
+        return (failFast) ? FAIL_FAST : DEFAULT;
+    }
+
+    /**
+     * @return new context which captures current time of the clock once
+     */
+    public static FluentValidatorContext of(boolean failFast, Clock clock) {
+        return new FluentValidatorContext(failFast, clock);
+    }
+
+    /**
+     * @return true if validation should stop on the first invalid property
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * @return fail fast context which shares time snapshot, values and batched keys with this one
+     */
+    FluentValidatorContext failFast() {
+        if (failFast) {
+            return this;
+        } else if (clock == null) {
+            return FAIL_FAST;
+        } else {
+            return new FluentValidatorContext(true, clock, this);
+        }
+    }
+
+    /**
+     * @return clock fixed at the time of the first call or system clock for shared contexts (DEFAULT / FAIL_FAST)
+     */
+    public Clock getClock() {
+        if (source != null) {
+            return source.getClock();
+        } else if (clock == null) {
+            return Clock.systemDefaultZone();
+        }
+
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = Clock.fixed(clock.instant(), clock.getZone());
+            }
+
+            return snapshot;
+        }
+    }
+
+    /**
+     * @return value of the supplier. It is called once per context (every time for shared contexts)
+     */
+    public <V> V get(Supplier<V> supplier) {
+        return memoize(supplier, supplier, null);
+    }
+
+    /**
+     * @return current time converted by the function (e.g. LocalDate::now). It is called once per context (every time for shared contexts)
+     */
+    public <V> V now(Function<Clock, V> function) {
+        return memoize(function, null, function);
+    }
+
+    /**
+     * @return result of the lookup for the key. Keys are collected while some batch is open and looked up on dispatch,
+     * otherwise (or for shared contexts) key is looked up at once. Results are cached until the last open batch is closed,
+     * so context which is reused for a long stream of objects doesn't keep all the keys
+     */
+    <K> CompletableFuture<Boolean> load(FluentValidatorObjects.CustomValidator.Batched<K> lookup, K key) {
+        if (source != null) {
+            return source.load(lookup, key);
+        } else if (clock == null) {
+            return lookup(lookup, Collections.singletonMap(key, new CompletableFuture<>())).get(key);
+        }
+
+        synchronized (this) {
+            if (batches > 0) {
+                if (loaded == null) {
+                    loaded = new IdentityHashMap<>();
+                    pending = new IdentityHashMap<>();
+                }
+
+                CompletableFuture<Boolean> answer = loaded.computeIfAbsent(lookup, l -> new HashMap<>()).get(key);
+
+                if (answer == null) {
+                    answer = new CompletableFuture<>();
+                    loaded.get(lookup).put(key, answer);
+                    pending.computeIfAbsent(lookup, l -> new LinkedHashMap<>()).put(key, answer);
+                }
+
+                return answer;
+            }
+        }
+
+        return lookup(lookup, Collections.singletonMap(key, new CompletableFuture<>())).get(key);
+    }
+
+    /**
+     * Starts collecting keys of batched rules. Every call must be followed by {@link #closeBatch()}
+     */
+    synchronized void openBatch() {
+        if (source != null) {
+            source.openBatch();
+        } else if (clock != null) {
+            batches++;
+        }
+    }
+
+    /**
+     * Dispatches collected keys and closes the batch
+     */
+    void closeBatch() {
+        dispatch(true);
+    }
+
+    /**
+     * Looks up collected keys (single call per lookup) until there are no more keys (results can lead to new keys, e.g. rules after batched one)
+     */
+    void dispatch() {
+        dispatch(false);
+    }
+
+    private void dispatch(boolean close) {
+        if (source != null) {
+            source.dispatch(close);
+
+            return;
+        }
+
+        while (true) {
+            Map<FluentValidatorObjects.CustomValidator.Batched, Map<Object, CompletableFuture<Boolean>>> keys;
+
+            synchronized (this) {
+                if (pending == null || pending.isEmpty()) {
+                    if (close && clock != null && --batches == 0) {
+                        loaded = null;
+                        pending = null;
+                    }
+
+                    return;
+                }
+
+                keys = pending;
+                pending = new IdentityHashMap<>();
+            }
+
+            for (Map.Entry<FluentValidatorObjects.CustomValidator.Batched, Map<Object, CompletableFuture<Boolean>>> entry : keys.entrySet()) {
+                lookup(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static <K> Map<K, CompletableFuture<Boolean>> lookup(FluentValidatorObjects.CustomValidator.Batched<K> lookup, Map<K, CompletableFuture<Boolean>> keys) {
+        Map<K, Boolean> results;
+
+        try {
+            results = lookup.lookup(Collections.unmodifiableSet(keys.keySet()));
+        } catch (RuntimeException e) {
+            keys.values().forEach(future -> future.completeExceptionally(e));
+
+            return keys;
+        }
+
+        for (Map.Entry<K, CompletableFuture<Boolean>> entry : keys.entrySet()) {
+            entry.getValue().complete(Boolean.TRUE.equals(results.get(entry.getKey())));
+        }
+
+        return keys;
+    }
+
+    private <V> V memoize(Object key, Supplier<V> supplier, Function<Clock, V> function) {
+        if (source != null) {
+            return source.memoize(key, supplier, function);
+        } else if (clock == null) {
+            return (supplier != null) ? supplier.get() : function.apply(getClock());
+        }
+
+        synchronized (this) {
+            if (values == null) {
+                values = new IdentityHashMap<>();
+            }
+
+            if (values.containsKey(key)) {
+                return (V) values.get(key);
+            }
+        }
+
+        V value = (supplier != null) ? supplier.get() : function.apply(getClock());
+
+        synchronized (this) {
+            if (values.containsKey(key)) {
+                return (V) values.get(key);
+            }
+
+            values.put(key, value);
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,99 @@
+package io.thedocs.soyuz.validator;
+
+import lombok.ToString;
+
+import java.util.*;
+
+/**
+ * Build-time index of the paths every validation data reads. Data depends on the changed path if its property is the path,
+ * is inside the path (address.city for address) or contains the path (address for address.city, wheels for wheels[1]).
+ * Some data depends on any path (see FluentValidatorImpl#getAlwaysAffected).
+ */
+@ToString
+class FluentValidatorDependencies {
+
+    private final boolean[] alwaysAffected;
+    /**
+     * Indexes of data by property and by all the parents of the property
+     */
+    private final Map<String, int[]> byPrefix = new HashMap<>();
+    private final Map<String, int[]> byProperty = new HashMap<>();
+
+    FluentValidatorDependencies(List<String> properties, boolean[] alwaysAffected) {
+        Map<String, List<Integer>> byPrefix = new HashMap<>();
+        Map<String, List<Integer>> byProperty = new HashMap<>();
+
+        for (int i = 0; i < properties.size(); i++) {
+            String property = properties.get(i);
+
+            if (property == null) {
+                continue;
+            }
+
+            byProperty.computeIfAbsent(property, p -> new ArrayList<>()).add(i);
+
+            for (String prefix : getPrefixes(property)) {
+                byPrefix.computeIfAbsent(prefix, p -> new ArrayList<>()).add(i);
+            }
+        }
+
+        byPrefix.forEach((path, indexes) -> this.byPrefix.put(path, toArray(indexes)));
+        byProperty.forEach((path, indexes) -> this.byProperty.put(path, toArray(indexes)));
+
+        this.alwaysAffected = alwaysAffected;
+    }
+
+    /**
+     * @return flags of data which can be affected by the changed paths
+     */
+    boolean[] getAffected(Set<String> changedPaths) {
+        boolean[] answer = alwaysAffected.clone();
+
+        for (String path : changedPaths) {
+            mark(answer, byPrefix.get(path));
+
+            for (String prefix : getPrefixes(path)) {
+                mark(answer, byProperty.get(prefix));
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * @return path and its parents, e.g. wheels, wheels[1], wheels[1].name for wheels[1].name
+     */
+    private static List<String> getPrefixes(String path) {
+        List<String> answer = new ArrayList<>();
+
+        for (int i = 1; i < path.length(); i++) {
+            char c = path.charAt(i);
+
+            if (c == '.' || c == '[') {
+                answer.add(path.substring(0, i));
+            }
+        }
+
+        answer.add(path);
+
+        return answer;
+    }
+
+    private static void mark(boolean[] affected, int[] indexes) {
+        if (indexes != null) {
+            for (int index : indexes) {
+                affected[index] = true;
+            }
+        }
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] answer = new int[values.size()];
+
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = values.get(i);
+        }
+
+        return answer;
+    }
+}
@@ -2,23 +2,109 @@ package io.thedocs.soyuz.validator;
 
 import io.thedocs.soyuz.err.Errors;
 import lombok.ToString;
-import org.apache.commons.beanutils.BeanUtilsBean;
-import org.apache.commons.beanutils.PropertyUtilsBean;
 
+import javax.annotation.Nullable;
+import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 
 /**
  * Created by fbelov on 05.04.18.
  */
 @ToString
 public class FluentValidatorImpl<R> implements Fv.Validator<R> {
-    private static final PropertyUtilsBean PROPERTY_UTILS_BEAN = BeanUtilsBean.getInstance().getPropertyUtils();
+
+    private static final int BATCH_BLOCK_SIZE = 1024;
 
     private List<FluentValidatorBuilder.ValidationDataWithProperties> validationData = new ArrayList<>();
+    private FluentValidatorObjects.FluentValidatorValidationData[] data;
+    private FluentValidatorPropertyTree properties;
+    private FluentValidatorAccessor.Getter[] primitiveGetters;
+    private boolean failFast;
+    private Clock clock = Clock.systemDefaultZone();
+    private boolean timeDependent;
+    private boolean[] asyncData;
+    private boolean async;
+    private boolean batched;
+    private boolean cacheable;
+    private FluentValidatorDependencies dependencies;
+    /**
+     * Error counts of the valid object, shared by all successful results
+     */
+    private int[] validCounts;
 
     public FluentValidatorImpl(List<FluentValidatorBuilder.ValidationDataWithProperties> validationData) {
+        this(null, validationData);
+    }
+
+    public FluentValidatorImpl(@Nullable Class<R> rootClass, List<FluentValidatorBuilder.ValidationDataWithProperties> validationData) {
+        this(rootClass, validationData, false);
+    }
+
+    /**
+     * @param compiled compile validation data of every property (see FluentValidatorObjects.CompiledData)
+     */
+    public FluentValidatorImpl(@Nullable Class<R> rootClass, List<FluentValidatorBuilder.ValidationDataWithProperties> validationData, boolean compiled) {
+        this(rootClass, validationData, compiled, null, null);
+    }
+
+    FluentValidatorImpl(FluentValidatorBuilder<R> builder, boolean compiled) {
+        this(builder.getRootClass(), builder.getValidationData(), compiled, builder.getKeys(), builder.getAdaptive());
+
+        this.failFast = builder.isFailFast();
+        this.clock = builder.getClock();
+    }
+
+    private FluentValidatorImpl(@Nullable Class<R> rootClass, List<FluentValidatorBuilder.ValidationDataWithProperties> validationData, boolean compiled,
+                                @Nullable FluentValidatorAccessor.KeyTable keys, @Nullable FluentValidatorAdaptive.Settings adaptive) {
+        List<String> properties = new ArrayList<>(validationData.size());
+
         this.validationData = validationData;
+        this.data = new FluentValidatorObjects.FluentValidatorValidationData[validationData.size()];
+
+        for (int i = 0; i < data.length; i++) {
+            FluentValidatorObjects.FluentValidatorValidationData source = validationData.get(i).getData();
+
+            data[i] = (adaptive != null) ? FluentValidatorAdaptive.of(source, adaptive) : source;
+
+            if (compiled && data[i] == source) {
+                data[i] = FluentValidatorObjects.CompiledData.of(source);
+            }
+
+            properties.add(validationData.get(i).getProperty());
+        }
+
+        this.properties = new FluentValidatorPropertyTree(rootClass, properties, keys);
+        this.primitiveGetters = new FluentValidatorAccessor.Getter[data.length];
+
+        for (int i = 0; i < data.length; i++) {
+            FluentValidatorAccessor.Getter getter = this.properties.getGetter(i);
+
+            if (data[i] instanceof FluentValidatorObjects.PrimitiveValidationData && getter != null
+                    && getter.isPrimitive(((FluentValidatorObjects.PrimitiveValidationData) data[i]).getPrimitiveType())) {
+                primitiveGetters[i] = getter;
+            }
+        }
+
+        this.timeDependent = isTimeDependent(validationData);
+        this.cacheable = !timeDependent && isCacheable(validationData);
+        this.asyncData = new boolean[data.length];
+
+        for (int i = 0; i < data.length; i++) {
+            asyncData[i] = isAsync(validationData.get(i).getData());
+            async |= asyncData[i];
+            batched |= isBatched(validationData.get(i).getData());
+        }
+
+        this.dependencies = new FluentValidatorDependencies(properties, getAlwaysAffected(validationData));
+        this.validCounts = new int[data.length];
     }
 
     public List<FluentValidatorBuilder.ValidationDataWithProperties> getValidationData() {
@@ -26,30 +112,505 @@ public class FluentValidatorImpl<R> implements Fv.Validator<R> {
     }
 
     public Fv.Result<R> validate(R rootObject) {
-        Errors errors = Errors.ok();
+        return validate(rootObject, newContext(failFast));
+    }
+
+    @Override
+    public Fv.Result<R> validate(R rootObject, boolean failFast) {
+        return validate(rootObject, newContext(failFast));
+    }
+
+    @Override
+    public Fv.Result<R> validate(R rootObject, FluentValidatorContext context) {
+        if (batched) {
+            Errors errors = findErrorsInContext(rootObject, context);
+
+            return (errors == null) ? Fv.Result.success(rootObject) : Fv.Result.failure(rootObject, errors);
+        }
+
+        return validate(rootObject, context, null, null, null);
+    }
+
+    /**
+     * Properties which don't depend on the changed paths (see FluentValidatorDependencies) keep their errors from the previous result,
+     * the others are validated again. Validates the whole object if the previous result wasn't returned by validate of this validator
+     */
+    @Override
+    public Fv.Result<R> revalidate(R newObject, Fv.Result<R> previous, Set<String> changedPaths) {
+        int[] previousCounts = previous.getEntryErrorCounts(this);
+
+        if (batched || previousCounts == null) {
+            return validate(newObject);
+        }
+
+        return validate(newObject, newContext(failFast), previousCounts, previous.getErrors(), dependencies.getAffected(changedPaths));
+    }
 
-        for (FluentValidatorBuilder.ValidationDataWithProperties validationDataWithProperties : validationData) {
-            String property = validationDataWithProperties.getProperty();
-            Object value = getPropertyValue(rootObject, property);
+    /**
+     * Result remembers number of errors of every data, so it can be used by revalidate. Data which is not affected keeps
+     * its errors from the previous result (if it was checked)
+     */
+    private Fv.Result<R> validate(R rootObject, FluentValidatorContext context, @Nullable int[] previousCounts, @Nullable Errors previousErrors, @Nullable boolean[] affected) {
+        Errors errors = null;
+        int[] counts = null;
+        int offset = 0;
+        Object[] cache = properties.newCache();
 
-            Fv.Result result = validationDataWithProperties.getData().validate(rootObject, property, value);
+        for (int i = 0; i < data.length; i++) {
+            int previousCount = (previousCounts == null) ? -1 : previousCounts[i];
+            Errors entryErrors;
+
+            if (previousCount >= 0 && !affected[i]) {
+                entryErrors = (previousCount == 0) ? null : Errors.reject(new ArrayList<>(previousErrors.get().subList(offset, offset + previousCount)));
+            } else {
+                Fv.Result result = validate(rootObject, i, cache, context);
+
+                entryErrors = (result != null && result.hasErrors()) ? result.getErrors() : null;
+            }
+
+            offset += Math.max(previousCount, 0);
+
+            if (entryErrors != null) {
+                if (errors == null) {
+                    errors = Errors.ok();
+                    counts = new int[data.length];
+                    Arrays.fill(counts, i, counts.length, -1);
+                }
+
+                errors.add(entryErrors);
+                counts[i] = entryErrors.get().size();
+
+                if (context.isFailFast()) {
+                    break;
+                }
+            } else if (counts != null) {
+                counts[i] = 0;
+            }
+        }
+
+        return Fv.Result.of(rootObject, errors, this, (errors == null) ? validCounts : counts);
+    }
+
+    /**
+     * Errors container is created only when the first error appears, so valid objects allocate nothing here.
+     * Validators with batched custom rules walk the whole object first and then look up all collected keys at once
+     */
+    @Override
+    public Errors findErrors(R rootObject, FluentValidatorContext context) {
+        return findErrorsInContext(rootObject, inherit(context));
+    }
+
+    private Errors findErrorsInContext(R rootObject, FluentValidatorContext context) {
+        if (!batched) {
+            return findErrorsInOrder(rootObject, context);
+        }
+
+        CompletionStage<Errors> errors;
+
+        context.openBatch();
+
+        try {
+            errors = findErrorsAsyncInContext(rootObject, context);
+        } finally {
+            context.closeBatch();
+        }
+
+        return FluentValidatorRule.Base.AsyncCustom.join(errors);
+    }
+
+    private Errors findErrorsInOrder(R rootObject, FluentValidatorContext context) {
+        Errors errors = null;
+        Object[] cache = properties.newCache();
+
+        for (int i = 0; i < data.length; i++) {
+            Fv.Result result = validate(rootObject, i, cache, context);
+
+            if (result != null && result.hasErrors()) {
+                if (errors == null) {
+                    errors = Errors.ok();
+                }
 
-            if (result != null) {
                 errors.add(result.getErrors());
+
+                if (context.isFailFast()) {
+                    break;
+                }
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * Validates the batch property by property: a block of rows is read and checked for the first property, then for the second one...,
+     * so rules of the same property are checked in a tight loop. All rows share the same context (e.g. the same "now" for date rules)
+     */
+    @Override
+    public Fv.BatchResult<R> validateAll(List<R> rootObjects) {
+        return validateAll(rootObjects, newContext(failFast));
+    }
+
+    @Override
+    public Fv.BatchResult<R> validateAll(List<R> rootObjects, FluentValidatorContext context) {
+        if (batched) {
+            return validateAllBatched(rootObjects, context);
+        }
+
+        Errors[] errors = new Errors[rootObjects.size()];
+        Object[] block = new Object[Math.min(BATCH_BLOCK_SIZE, errors.length)];
+        Object[][] caches = new Object[block.length][];
+        Iterator<R> iterator = rootObjects.iterator();
+
+        for (int from = 0; from < errors.length; from += BATCH_BLOCK_SIZE) {
+            int size = Math.min(BATCH_BLOCK_SIZE, errors.length - from);
+
+            for (int row = 0; row < size; row++) {
+                block[row] = iterator.next();
+                caches[row] = properties.newCache();
+            }
+
+            for (int i = 0; i < data.length; i++) {
+                for (int row = 0; row < size; row++) {
+                    Errors rowErrors = errors[from + row];
+
+                    if (rowErrors != null && context.isFailFast()) {
+                        continue;
+                    }
+
+                    Fv.Result result = validate((R) block[row], i, caches[row], context);
+
+                    if (result != null && result.hasErrors()) {
+                        if (rowErrors == null) {
+                            errors[from + row] = rowErrors = Errors.ok();
+                        }
+
+                        rowErrors.add(result.getErrors());
+                    }
+                }
+            }
+        }
+
+        return Fv.BatchResult.of(rootObjects, errors);
+    }
+
+    /**
+     * Keys of batched custom rules of all rows are looked up at once
+     */
+    private Fv.BatchResult<R> validateAllBatched(List<R> rootObjects, FluentValidatorContext context) {
+        List<CompletionStage<Errors>> results = new ArrayList<>(rootObjects.size());
+
+        context.openBatch();
+
+        try {
+            for (R rootObject : rootObjects) {
+                results.add(findErrorsAsyncInContext(rootObject, context));
+            }
+        } finally {
+            context.closeBatch();
+        }
+
+        Errors[] errors = new Errors[results.size()];
+
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = FluentValidatorRule.Base.AsyncCustom.join(results.get(i));
+        }
+
+        return Fv.BatchResult.of(rootObjects, errors);
+    }
+
+    /**
+     * All objects of the stream share the same context (e.g. the same "now" for date rules)
+     */
+    @Override
+    public Stream<Fv.Result<R>> validateStream(Stream<R> rootObjects, long maxFailures) {
+        return validateStream(rootObjects, maxFailures, newContext(failFast));
+    }
+
+    @Override
+    public CompletionStage<Fv.Result<R>> validateAsync(R rootObject) {
+        return validateAsync(rootObject, newContext(failFast));
+    }
+
+    @Override
+    public CompletionStage<Fv.Result<R>> validateAsync(R rootObject, FluentValidatorContext context) {
+        context.openBatch();
+
+        try {
+            return findErrorsAsyncInContext(rootObject, context).thenApply(errors -> (errors == null) ? Fv.Result.success(rootObject) : Fv.Result.failure(rootObject, errors));
+        } finally {
+            context.closeBatch();
+        }
+    }
+
+    /**
+     * Properties without async rules are validated synchronously (with compiled data if any), the others are issued
+     * without waiting, so async rules of all properties run concurrently. Errors are merged in property order
+     */
+    @Override
+    public CompletionStage<Errors> findErrorsAsync(R rootObject, FluentValidatorContext context) {
+        return findErrorsAsyncInContext(rootObject, inherit(context));
+    }
+
+    private CompletionStage<Errors> findErrorsAsyncInContext(R rootObject, FluentValidatorContext context) {
+        if (!async) {
+            return CompletableFuture.completedFuture(findErrorsInOrder(rootObject, context));
+        }
+
+        Object[] cache = properties.newCache();
+        List<CompletableFuture<Fv.Result>> results = new ArrayList<>(data.length);
+
+        for (int i = 0; i < data.length; i++) {
+            if (asyncData[i]) {
+                String property = validationData.get(i).getProperty();
+
+                results.add(validationData.get(i).getData().validateAsync(rootObject, property, getPropertyValue(rootObject, i, cache), context).toCompletableFuture());
+            } else {
+                Fv.Result result = validate(rootObject, i, cache, context);
+
+                results.add(CompletableFuture.completedFuture(result));
+
+                if (result != null && result.hasErrors() && context.isFailFast()) {
+                    break;
+                }
+            }
+        }
+
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Errors errors = null;
+
+            for (CompletableFuture<Fv.Result> future : results) {
+                Fv.Result result = future.join();
+
+                if (result != null && result.hasErrors()) {
+                    if (errors == null) {
+                        errors = Errors.ok();
+                    }
+
+                    errors.add(result.getErrors());
+
+                    if (context.isFailFast()) {
+                        break;
+                    }
+                }
+            }
+
+            return errors;
+        });
+    }
+
+    @Override
+    public boolean isValid(R rootObject) {
+        return isValid(rootObject, newContext(true));
+    }
+
+    @Override
+    public boolean isValid(R rootObject, FluentValidatorContext context) {
+        if (batched) {
+            return findErrorsInContext(rootObject, context) == null;
+        }
+
+        Object[] cache = properties.newCache();
+
+        for (int i = 0; i < data.length; i++) {
+            if (!isValid(rootObject, i, cache, context)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Primitive properties are read with primitive getter if the owner of the property is instance of the class getter was resolved for
+     */
+    private Fv.Result validate(R rootObject, int index, Object[] cache, FluentValidatorContext context) {
+        String property = validationData.get(index).getProperty();
+        FluentValidatorAccessor.Getter getter = primitiveGetters[index];
+
+        if (getter != null && rootObject != null) {
+            Object bean = getParent(rootObject, index, cache);
+
+            if (getter.isInstance(bean)) {
+                return ((FluentValidatorObjects.PrimitiveValidationData<R>) data[index]).validatePrimitive(rootObject, property, getter, bean, context);
+            }
+        }
+
+        return data[index].validate(rootObject, property, getPropertyValue(rootObject, index, cache), context);
+    }
+
+    private boolean isValid(R rootObject, int index, Object[] cache, FluentValidatorContext context) {
+        String property = validationData.get(index).getProperty();
+        FluentValidatorAccessor.Getter getter = primitiveGetters[index];
+
+        if (getter != null && rootObject != null) {
+            Object bean = getParent(rootObject, index, cache);
+
+            if (getter.isInstance(bean)) {
+                return ((FluentValidatorObjects.PrimitiveValidationData<R>) data[index]).isValidPrimitive(rootObject, property, getter, bean, context);
             }
         }
 
-        return Fv.Result.failure(rootObject, errors);
+        return data[index].isValid(rootObject, property, getPropertyValue(rootObject, index, cache), context);
+    }
+
+    /**
+     * @return true if some rule (including rules of nested validators) compares with dates. Such validators create
+     * context with the clock snapshot per validation, others use shared contexts and allocate nothing
+     */
+    boolean isTimeDependent() {
+        return timeDependent;
+    }
+
+    /**
+     * @return true if some rule (including rules of nested validators) is async or batched custom rule
+     */
+    boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * @return true if some rule (including rules of nested validators) is batched custom rule. Such validators create
+     * context per validation to collect the keys
+     */
+    boolean isBatched() {
+        return batched;
+    }
+
+    static boolean isAsync(FluentValidatorRule<?, ?> rule) {
+        Fv.Validator<?> nested = getNested(rule);
+
+        return rule instanceof FluentValidatorRule.Base.AsyncCustom || rule instanceof FluentValidatorRule.Base.BatchedCustom
+                || (nested instanceof FluentValidatorImpl && ((FluentValidatorImpl<?>) nested).isAsync());
+    }
+
+    private static boolean isAsync(FluentValidatorObjects.FluentValidatorValidationData<?, ?> data) {
+        for (FluentValidatorRule<?, ?> rule : getRules(data)) {
+            if (isAsync(rule)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isBatched(FluentValidatorObjects.FluentValidatorValidationData<?, ?> data) {
+        for (FluentValidatorRule<?, ?> rule : getRules(data)) {
+            Fv.Validator<?> nested = getNested(rule);
+
+            if (rule instanceof FluentValidatorRule.Base.BatchedCustom || (nested instanceof FluentValidatorImpl && ((FluentValidatorImpl<?>) nested).isBatched())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true if result depends on the object only: there are no date rules and custom rules (including nested validators)
+     */
+    boolean isCacheable() {
+        return cacheable;
+    }
+
+    private static boolean isCacheable(List<FluentValidatorBuilder.ValidationDataWithProperties> validationData) {
+        for (FluentValidatorBuilder.ValidationDataWithProperties item : validationData) {
+            if (!(item.getData() instanceof FluentValidatorObjects.BaseData)) {
+                return false;
+            }
+
+            for (FluentValidatorRule<?, ?> rule : getRules(item.getData())) {
+                Fv.Validator<?> nested = getNested(rule);
+
+                if (rule instanceof FluentValidatorRule.Base.Custom || rule instanceof FluentValidatorRule.Base.AsyncCustom || rule instanceof FluentValidatorRule.Base.BatchedCustom) {
+                    return false;
+                } else if (nested != null && !(nested instanceof FluentValidatorImpl && ((FluentValidatorImpl<?>) nested).isCacheable())) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * findErrors is called by the outer validators (see validator / itemValidator rules) with their context: fail fast of the outer
+     * validator is passed down, but fail fast set on the builder of this validator is never turned off
+     */
+    private FluentValidatorContext inherit(FluentValidatorContext context) {
+        return (failFast) ? context.failFast() : context;
+    }
+
+    private FluentValidatorContext newContext(boolean failFast) {
+        return (timeDependent || batched) ? FluentValidatorContext.of(failFast, clock) : FluentValidatorContext.of(failFast);
+    }
+
+    private static boolean isTimeDependent(List<FluentValidatorBuilder.ValidationDataWithProperties> validationData) {
+        for (FluentValidatorBuilder.ValidationDataWithProperties item : validationData) {
+            for (FluentValidatorRule<?, ?> rule : getRules(item.getData())) {
+                Fv.Validator<?> nested = getNested(rule);
+
+                if (rule instanceof FluentValidatorRule.D.DateRule || (nested instanceof FluentValidatorImpl && ((FluentValidatorImpl<?>) nested).isTimeDependent())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true for data which can depend on any property: root object rules, when conditions, custom rules (they get the root object)
+     * and time dependent rules
+     */
+    private static boolean[] getAlwaysAffected(List<FluentValidatorBuilder.ValidationDataWithProperties> validationData) {
+        boolean[] answer = new boolean[validationData.size()];
+
+        for (int i = 0; i < answer.length; i++) {
+            FluentValidatorBuilder.ValidationDataWithProperties item = validationData.get(i);
+
+            answer[i] = item.getProperty() == null || !(item.getData() instanceof FluentValidatorObjects.BaseData)
+                    || !((FluentValidatorObjects.BaseData<?, ?>) item.getData()).getWhen().isEmpty()
+                    || isTimeDependent(Collections.singletonList(item));
+
+            for (FluentValidatorRule<?, ?> rule : getRules(item.getData())) {
+                if (rule instanceof FluentValidatorRule.Base.Custom || rule instanceof FluentValidatorRule.Base.AsyncCustom || rule instanceof FluentValidatorRule.Base.BatchedCustom) {
+                    answer[i] = true;
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    private static List<FluentValidatorRule<?, ?>> getRules(FluentValidatorObjects.FluentValidatorValidationData<?, ?> data) {
+        return (data instanceof FluentValidatorObjects.BaseData) ? (List) ((FluentValidatorObjects.BaseData<?, ?>) data).getRules() : Collections.emptyList();
+    }
+
+    @Nullable
+    private static Fv.Validator<?> getNested(FluentValidatorRule<?, ?> rule) {
+        if (rule instanceof FluentValidatorRule.Base.Validator) {
+            return ((FluentValidatorRule.Base.Validator<?, ?>) rule).getValidator();
+        } else if (rule instanceof FluentValidatorRule.Coll.ItemValidator) {
+            return ((FluentValidatorRule.Coll.ItemValidator<?, ?>) rule).getValidator();
+        } else {
+            return null;
+        }
+    }
+
+    private Object getParent(R o, int index, Object[] cache) {
+        try {
+            return properties.getParent(o, index, cache);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
     }
 
-    private Object getPropertyValue(R o, String property) {
+    private Object getPropertyValue(R o, int index, Object[] cache) {
         try {
             if (o == null) {
                 return null;
-            } else if (property == null) {
-                return o;
             } else {
-                return PROPERTY_UTILS_BEAN.getNestedProperty(o, property);
+                return properties.get(o, index, cache);
             }
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -2,14 +2,24 @@ package io.thedocs.soyuz.validator;
 
 import io.thedocs.soyuz.err.Err;
 import io.thedocs.soyuz.err.Errors;
-import lombok.Getter;
-import lombok.Setter;
+import lombok.*;
 
+import java.lang.invoke.MethodHandle;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -50,6 +60,32 @@ public class FluentValidatorObjects {
             return _this();
         }
 
+        /**
+         * Value must be one of the values. Values are compiled to the lookup structure which fits them
+         * (EnumSet, sorted array, perfect hash table...), so big sets are checked without List.contains
+         */
+        @SafeVarargs
+        public final BuilderClass oneOf(V... values) {
+            return oneOf(Arrays.asList(values));
+        }
+
+        public BuilderClass oneOf(Collection<? extends V> values) {
+            data.addRule(new FluentValidatorRule.Base.OneOf<>(values));
+
+            return _this();
+        }
+
+        @SafeVarargs
+        public final BuilderClass noneOf(V... values) {
+            return noneOf(Arrays.asList(values));
+        }
+
+        public BuilderClass noneOf(Collection<? extends V> values) {
+            data.addRule(new FluentValidatorRule.Base.NoneOf<>(values));
+
+            return _this();
+        }
+
         public BuilderClass when(BiFunction<R, V, Boolean> when) {
             data.addWhen(when);
 
@@ -94,6 +130,31 @@ public class FluentValidatorObjects {
             return _this();
         }
 
+        /**
+         * Custom rule which returns the result asynchronously (e.g. after remote or db lookup).
+         * Fv.Validator#validateAsync issues such rules of all properties concurrently
+         */
+        public BuilderClass customAsync(CustomValidator.Async<R, V> customValidatorAsync) {
+            data.addRule(new FluentValidatorRule.Base.AsyncCustom<>(customValidatorAsync));
+
+            return _this();
+        }
+
+        /**
+         * Custom rule checked with bulk lookup: keys of all the values (of nested objects and collection items too) are
+         * collected during validation and looked up with a single call, e.g. one query for all employees of the import.
+         * Null keys are valid
+         *
+         * @param key    key of the value for the lookup
+         * @param lookup is called with all collected keys
+         * @param code   error code for the invalid keys
+         */
+        public <K> BuilderClass customBatched(BiFunction<R, V, K> key, CustomValidator.Batched<K> lookup, String code) {
+            data.addRule(new FluentValidatorRule.Base.BatchedCustom<>(key, lookup, code));
+
+            return _this();
+        }
+
         protected BuilderClass _this() {
             return (BuilderClass) this;
         }
@@ -108,9 +169,183 @@ public class FluentValidatorObjects {
             Fv.CustomResult validate(P object, V propertyValue);
         }
 
+        /**
+         * @return validator which memoizes results of the validator by property value (see CachedCustomValidator)
+         */
+        static <P, V> CachedCustomValidator<P, V> cached(Simple<P, V> validator, int maxSize, Duration ttl) {
+            return new CachedCustomValidator<>(validator, maxSize, ttl, Clock.systemUTC());
+        }
+
+        static <P, V> CachedCustomValidator<P, V> cached(Simple<P, V> validator, int maxSize, Duration ttl, Clock clock) {
+            return new CachedCustomValidator<>(validator, maxSize, ttl, clock);
+        }
+
         interface WithBuilder<P, V> extends CustomValidator {
             Fv.CustomResult validate(P object, V propertyValue, FluentValidatorBuilder<V> fluentValidatorBuilder);
         }
+
+        interface Async<P, V> extends CustomValidator {
+            CompletionStage<Fv.CustomResult> validate(P object, V propertyValue);
+        }
+
+        /**
+         * Bulk lookup of the batched custom rule (e.g. existing / not unique names from the db)
+         */
+        interface Batched<K> extends CustomValidator {
+
+            /**
+             * @return true for valid keys, false or no value for invalid ones
+             */
+            Map<K, Boolean> lookup(Set<K> keys);
+        }
+    }
+
+    /**
+     * Custom validator which memoizes results by property value, so result must depend on the value only
+     * (e.g. blocked domains, known codes). Null values and null results are not cached.
+     * <p>
+     * Reads don't lock: results are kept in ConcurrentHashMap and a hit only bumps the usage counter of the entry.
+     * Size is bounded with CLOCK eviction: on insert into the full cache the hand sweeps the ring of entries,
+     * decrements usage counters (0..3) and evicts the first expired or unused one, so hot values survive scans of cold ones.
+     * Entries expire ttl after they were computed.
+     */
+    @ToString(of = {"validator", "maxSize", "ttl"})
+    public static class CachedCustomValidator<P, V> implements CustomValidator.Simple<P, V> {
+
+        private static final int MAX_USAGE = 3;
+
+        private final Simple<P, V> validator;
+        private final int maxSize;
+        private final long ttl;
+        private final Clock clock;
+        private final ConcurrentHashMap<V, Entry<V>> entries = new ConcurrentHashMap<>();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private Entry<V>[] ring;
+        private int size;
+        private int hand;
+
+        CachedCustomValidator(Simple<P, V> validator, int maxSize, Duration ttl, Clock clock) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+            }
+
+            this.validator = validator;
+            this.maxSize = maxSize;
+            this.ttl = ttl.toMillis();
+            this.clock = clock;
+            this.ring = new Entry[maxSize];
+        }
+
+        @Override
+        public Fv.CustomResult validate(P object, V propertyValue) {
+            if (propertyValue == null) {
+                return validator.validate(object, propertyValue);
+            }
+
+            long now = clock.millis();
+            Entry<V> entry = entries.get(propertyValue);
+
+            if (entry != null && now < entry.expiresAt) {
+                if (entry.usage < MAX_USAGE) {
+                    entry.usage++;
+                }
+
+                hits.increment();
+
+                return entry.result;
+            }
+
+            misses.increment();
+
+            Fv.CustomResult result = validator.validate(object, propertyValue);
+
+            if (result != null) {
+                put(propertyValue, result, now);
+            }
+
+            return result;
+        }
+
+        public Stats getStats() {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+        }
+
+        /**
+         * Drops all results, e.g. after the reference data has changed
+         */
+        public synchronized void invalidateAll() {
+            entries.clear();
+            ring = new Entry[maxSize];
+            size = 0;
+            hand = 0;
+        }
+
+        private synchronized void put(V key, Fv.CustomResult result, long now) {
+            Entry<V> previous = entries.get(key);
+            Entry<V> entry = new Entry<>(key, result, now + ttl);
+
+            if (previous != null) {
+                entry.slot = previous.slot;
+            } else if (size < ring.length) {
+                entry.slot = size++;
+            } else {
+                entry.slot = evict(now);
+            }
+
+            ring[entry.slot] = entry;
+            entries.put(key, entry);
+        }
+
+        private int evict(long now) {
+            while (true) {
+                int slot = hand;
+                Entry<V> entry = ring[slot];
+
+                hand = (hand + 1) % ring.length;
+
+                if (entry.usage > 0 && now < entry.expiresAt) {
+                    entry.usage--;
+                } else {
+                    entries.remove(entry.key, entry);
+                    evictions.increment();
+
+                    return slot;
+                }
+            }
+        }
+
+        private static class Entry<V> {
+            private final V key;
+            private final Fv.CustomResult result;
+            private final long expiresAt;
+            private volatile int usage;
+            private int slot;
+
+            Entry(V key, Fv.CustomResult result, long expiresAt) {
+                this.key = key;
+                this.result = result;
+                this.expiresAt = expiresAt;
+            }
+        }
+
+        @Getter
+        @ToString
+        @EqualsAndHashCode
+        @AllArgsConstructor(access = AccessLevel.PRIVATE)
+        public static class Stats {
+            private long hitCount;
+            private long missCount;
+            private long evictionCount;
+            private long size;
+
+            public double getHitRate() {
+                long requests = hitCount + missCount;
+
+                return (requests == 0) ? 1 : (double) hitCount / requests;
+            }
+        }
     }
 
     /**
@@ -120,6 +355,36 @@ public class FluentValidatorObjects {
 
         Fv.Result validate(R rootObject, String property, V value);
 
+        default Fv.Result validate(R rootObject, String property, V value, FluentValidatorContext context) {
+            return validate(rootObject, property, value);
+        }
+
+        default boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+            Fv.Result result = validate(rootObject, property, value, context);
+
+            return result == null || result.isOk();
+        }
+
+        default CompletionStage<Fv.Result> validateAsync(R rootObject, String property, V value, FluentValidatorContext context) {
+            return CompletableFuture.completedFuture(validate(rootObject, property, value, context));
+        }
+
+    }
+
+    /**
+     * Data of the primitive property. FluentValidatorImpl reads such property with the primitive getter
+     * (if it is available) and passes the bean here, so the value is read and checked without boxing
+     */
+    public interface PrimitiveValidationData<R> {
+
+        /**
+         * @return int.class, long.class or double.class
+         */
+        Class<?> getPrimitiveType();
+
+        Fv.Result validatePrimitive(R rootObject, String property, FluentValidatorAccessor.Getter getter, Object bean, FluentValidatorContext context);
+
+        boolean isValidPrimitive(R rootObject, String property, FluentValidatorAccessor.Getter getter, Object bean, FluentValidatorContext context);
     }
 
     @Getter
@@ -152,6 +417,11 @@ public class FluentValidatorObjects {
 
         @Override
         public Fv.Result validate(R rootObject, String property, V value) {
+            return validate(rootObject, property, value, FluentValidatorContext.DEFAULT);
+        }
+
+        @Override
+        public Fv.Result validate(R rootObject, String property, V value, FluentValidatorContext context) {
             if (mapFrom != null && value != null) {
                 value = (V) mapFrom.apply(value);
             }
@@ -165,7 +435,7 @@ public class FluentValidatorObjects {
             //todo unless
 
             for (FluentValidatorRule<R, V> rule : rules) {
-                Fv.Result result = rule.validate(rootObject, property, value);
+                Fv.Result result = rule.validate(rootObject, property, value, context);
 
                 if (result != null && result.hasErrors()) {
                     return result;
@@ -174,19 +444,376 @@ public class FluentValidatorObjects {
 
             return null;
         }
+
+        @Override
+        public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+            if (mapFrom != null && value != null) {
+                value = (V) mapFrom.apply(value);
+            }
+
+            for (BiFunction<R, V, Boolean> whenItem : when) {
+                if (!whenItem.apply(rootObject, value)) {
+                    return true;
+                }
+            }
+
+            for (FluentValidatorRule<R, V> rule : rules) {
+                if (!rule.isValid(rootObject, property, value, context)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Rules are checked in order as validate does: rules after async one are checked when its result is ready
+         */
+        @Override
+        public CompletionStage<Fv.Result> validateAsync(R rootObject, String property, V value, FluentValidatorContext context) {
+            if (mapFrom != null && value != null) {
+                value = (V) mapFrom.apply(value);
+            }
+
+            for (BiFunction<R, V, Boolean> whenItem : when) {
+                if (!whenItem.apply(rootObject, value)) {
+                    return CompletableFuture.completedFuture(null);
+                }
+            }
+
+            return validateAsync(rootObject, property, value, context, 0);
+        }
+
+        private CompletionStage<Fv.Result> validateAsync(R rootObject, String property, V value, FluentValidatorContext context, int from) {
+            for (int i = from; i < rules.size(); i++) {
+                FluentValidatorRule<R, V> rule = rules.get(i);
+
+                if (FluentValidatorImpl.isAsync(rule)) {
+                    int next = i + 1;
+
+                    return rule.validateAsync(rootObject, property, value, context).thenCompose(result -> (result != null && result.hasErrors())
+                            ? CompletableFuture.completedFuture(result)
+                            : validateAsync(rootObject, property, value, context, next));
+                }
+
+                Fv.Result result = rule.validate(rootObject, property, value, context);
+
+                if (result != null && result.hasErrors()) {
+                    return CompletableFuture.completedFuture(result);
+                }
+            }
+
+            return CompletableFuture.completedFuture(null);
+        }
+
+        protected boolean isConditional() {
+            return mapFrom != null || !when.isEmpty();
+        }
+    }
+
+    /**
+     * Checks primitive value with rules. OfInt / OfLong / OfDouble rules get the primitive value,
+     * value is boxed only for other rules and to build an error
+     */
+    static class PrimitiveRules {
+
+        static <R> Fv.Result validateInt(List<FluentValidatorRule<R, Integer>> rules, R rootObject, String property, int value, FluentValidatorContext context) {
+            for (int i = 0; i < rules.size(); i++) {
+                FluentValidatorRule<R, Integer> rule = rules.get(i);
+
+                if (!(rule instanceof FluentValidatorRule.OfInt) || !((FluentValidatorRule.OfInt<R>) rule).isValidInt(rootObject, value)) {
+                    Fv.Result result = rule.validate(rootObject, property, value, context);
+
+                    if (result != null && result.hasErrors()) {
+                        return result;
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        static <R> boolean isValidInt(List<FluentValidatorRule<R, Integer>> rules, R rootObject, String property, int value, FluentValidatorContext context) {
+            for (int i = 0; i < rules.size(); i++) {
+                FluentValidatorRule<R, Integer> rule = rules.get(i);
+                boolean valid = (rule instanceof FluentValidatorRule.OfInt)
+                        ? ((FluentValidatorRule.OfInt<R>) rule).isValidInt(rootObject, value)
+                        : rule.isValid(rootObject, property, value, context);
+
+                if (!valid) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        static <R> Fv.Result validateLong(List<FluentValidatorRule<R, Long>> rules, R rootObject, String property, long value, FluentValidatorContext context) {
+            for (int i = 0; i < rules.size(); i++) {
+                FluentValidatorRule<R, Long> rule = rules.get(i);
+
+                if (!(rule instanceof FluentValidatorRule.OfLong) || !((FluentValidatorRule.OfLong<R>) rule).isValidLong(rootObject, value)) {
+                    Fv.Result result = rule.validate(rootObject, property, value, context);
+
+                    if (result != null && result.hasErrors()) {
+                        return result;
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        static <R> boolean isValidLong(List<FluentValidatorRule<R, Long>> rules, R rootObject, String property, long value, FluentValidatorContext context) {
+            for (int i = 0; i < rules.size(); i++) {
+                FluentValidatorRule<R, Long> rule = rules.get(i);
+                boolean valid = (rule instanceof FluentValidatorRule.OfLong)
+                        ? ((FluentValidatorRule.OfLong<R>) rule).isValidLong(rootObject, value)
+                        : rule.isValid(rootObject, property, value, context);
+
+                if (!valid) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        static <R> Fv.Result validateDouble(List<FluentValidatorRule<R, Double>> rules, R rootObject, String property, double value, FluentValidatorContext context) {
+            for (int i = 0; i < rules.size(); i++) {
+                FluentValidatorRule<R, Double> rule = rules.get(i);
+
+                if (!(rule instanceof FluentValidatorRule.OfDouble) || !((FluentValidatorRule.OfDouble<R>) rule).isValidDouble(rootObject, value)) {
+                    Fv.Result result = rule.validate(rootObject, property, value, context);
+
+                    if (result != null && result.hasErrors()) {
+                        return result;
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        static <R> boolean isValidDouble(List<FluentValidatorRule<R, Double>> rules, R rootObject, String property, double value, FluentValidatorContext context) {
+            for (int i = 0; i < rules.size(); i++) {
+                FluentValidatorRule<R, Double> rule = rules.get(i);
+                boolean valid = (rule instanceof FluentValidatorRule.OfDouble)
+                        ? ((FluentValidatorRule.OfDouble<R>) rule).isValidDouble(rootObject, value)
+                        : rule.isValid(rootObject, property, value, context);
+
+                if (!valid) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        static Object box(Class<?> type, FluentValidatorAccessor.Getter getter, Object bean) {
+            if (type == int.class) {
+                return getter.getInt(bean);
+            } else if (type == long.class) {
+                return getter.getLong(bean);
+            } else {
+                return getter.getDouble(bean);
+            }
+        }
+
+        static Fv.Result validate(Class<?> type, List rules, Object rootObject, String property, FluentValidatorAccessor.Getter getter, Object bean, FluentValidatorContext context) {
+            if (type == int.class) {
+                return validateInt(rules, rootObject, property, getter.getInt(bean), context);
+            } else if (type == long.class) {
+                return validateLong(rules, rootObject, property, getter.getLong(bean), context);
+            } else {
+                return validateDouble(rules, rootObject, property, getter.getDouble(bean), context);
+            }
+        }
+
+        static boolean isValid(Class<?> type, List rules, Object rootObject, String property, FluentValidatorAccessor.Getter getter, Object bean, FluentValidatorContext context) {
+            if (type == int.class) {
+                return isValidInt(rules, rootObject, property, getter.getInt(bean), context);
+            } else if (type == long.class) {
+                return isValidLong(rules, rootObject, property, getter.getLong(bean), context);
+            } else {
+                return isValidDouble(rules, rootObject, property, getter.getDouble(bean), context);
+            }
+        }
+    }
+
+    /**
+     * Primitive data is checked without boxing unless it has mapFrom or when conditions (they need boxed value)
+     */
+    public static abstract class PrimitiveData<R, V> extends BaseData<R, V> implements PrimitiveValidationData<R> {
+
+        @Override
+        public Fv.Result validatePrimitive(R rootObject, String property, FluentValidatorAccessor.Getter getter, Object bean, FluentValidatorContext context) {
+            if (isConditional()) {
+                return validate(rootObject, property, (V) PrimitiveRules.box(getPrimitiveType(), getter, bean), context);
+            } else {
+                return PrimitiveRules.validate(getPrimitiveType(), getRules(), rootObject, property, getter, bean, context);
+            }
+        }
+
+        @Override
+        public boolean isValidPrimitive(R rootObject, String property, FluentValidatorAccessor.Getter getter, Object bean, FluentValidatorContext context) {
+            if (isConditional()) {
+                return isValid(rootObject, property, (V) PrimitiveRules.box(getPrimitiveType(), getter, bean), context);
+            } else {
+                return PrimitiveRules.isValid(getPrimitiveType(), getRules(), rootObject, property, getter, bean, context);
+            }
+        }
+    }
+
+    /**
+     * BaseData compiled by FluentValidatorBuilder.buildCompiled(). Contiguous length / size / range rules are fused into a single check,
+     * then mapFrom, when conditions and rules are bound into a chain of method handles (see FluentValidatorChain),
+     * so every property is checked by its own code instead of the shared loop over the rules.
+     */
+    public static abstract class CompiledData<R, V> implements FluentValidatorValidationData<R, V> {
+
+        public static <R, V> FluentValidatorValidationData<R, V> of(FluentValidatorValidationData<R, V> data) {
+            if (!(data instanceof BaseData)) {
+                return data;
+            }
+
+            BaseData<R, V> baseData = (BaseData<R, V>) data;
+            FluentValidatorRule<R, V>[] rules = FluentValidatorRule.Fused.fuse(baseData.getRules()).toArray(new FluentValidatorRule[0]);
+            BiFunction[] when = baseData.getWhen().toArray(new BiFunction[0]);
+            MethodHandle validate = FluentValidatorChain.conditional(FluentValidatorChain.validate(rules, Object.class), baseData.getMapFrom(), when, null);
+            MethodHandle isValid = FluentValidatorChain.conditional(FluentValidatorChain.isValid(rules, Object.class), baseData.getMapFrom(), when, true);
+
+            if (baseData instanceof PrimitiveValidationData && baseData.getMapFrom() == null && when.length == 0) {
+                Class<?> type = ((PrimitiveValidationData) baseData).getPrimitiveType();
+
+                return new Primitive<>(type, validate, isValid, FluentValidatorChain.validate(rules, type), FluentValidatorChain.isValid(rules, type));
+            } else {
+                return new Chained<>(validate, isValid);
+            }
+        }
+
+        @Override
+        public Fv.Result validate(R rootObject, String property, V value) {
+            return validate(rootObject, property, value, FluentValidatorContext.DEFAULT);
+        }
+
+        private static class Chained<R, V> extends CompiledData<R, V> {
+            private final MethodHandle validate;
+            private final MethodHandle isValid;
+
+            Chained(MethodHandle validate, MethodHandle isValid) {
+                this.validate = validate;
+                this.isValid = isValid;
+            }
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, V value, FluentValidatorContext context) {
+                try {
+                    return (Fv.Result) validate.invokeExact((Object) rootObject, property, (Object) value, context);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+                try {
+                    return (boolean) isValid.invokeExact((Object) rootObject, property, (Object) value, context);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        /**
+         * Primitive value is passed to the chains of its type without boxing
+         */
+        private static final class Primitive<R, V> extends Chained<R, V> implements PrimitiveValidationData<R> {
+            private final Class<?> type;
+            private final MethodHandle validatePrimitive;
+            private final MethodHandle isValidPrimitive;
+
+            Primitive(Class<?> type, MethodHandle validate, MethodHandle isValid, MethodHandle validatePrimitive, MethodHandle isValidPrimitive) {
+                super(validate, isValid);
+                this.type = type;
+                this.validatePrimitive = validatePrimitive;
+                this.isValidPrimitive = isValidPrimitive;
+            }
+
+            @Override
+            public Class<?> getPrimitiveType() {
+                return type;
+            }
+
+            @Override
+            public Fv.Result validatePrimitive(R rootObject, String property, FluentValidatorAccessor.Getter getter, Object bean, FluentValidatorContext context) {
+                try {
+                    if (type == int.class) {
+                        return (Fv.Result) validatePrimitive.invokeExact((Object) rootObject, property, getter.getInt(bean), context);
+                    } else if (type == long.class) {
+                        return (Fv.Result) validatePrimitive.invokeExact((Object) rootObject, property, getter.getLong(bean), context);
+                    } else {
+                        return (Fv.Result) validatePrimitive.invokeExact((Object) rootObject, property, getter.getDouble(bean), context);
+                    }
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public boolean isValidPrimitive(R rootObject, String property, FluentValidatorAccessor.Getter getter, Object bean, FluentValidatorContext context) {
+                try {
+                    if (type == int.class) {
+                        return (boolean) isValidPrimitive.invokeExact((Object) rootObject, property, getter.getInt(bean), context);
+                    } else if (type == long.class) {
+                        return (boolean) isValidPrimitive.invokeExact((Object) rootObject, property, getter.getLong(bean), context);
+                    } else {
+                        return (boolean) isValidPrimitive.invokeExact((Object) rootObject, property, getter.getDouble(bean), context);
+                    }
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
     }
 
-//    @Setter
     public static class RootData<R> extends ObjectData<R, R> {
-//        private boolean failFast;
     }
 
     public static class ObjectData<R, V> extends BaseData<R, V> {
 
     }
 
-    public static class IntData<R> extends BaseData<R, Integer> {
+    public static class IntData<R> extends PrimitiveData<R, Integer> {
+
+        @Override
+        public Class<?> getPrimitiveType() {
+            return int.class;
+        }
+    }
+
+    public static class LongData<R> extends PrimitiveData<R, Long> {
 
+        @Override
+        public Class<?> getPrimitiveType() {
+            return long.class;
+        }
+    }
+
+    public static class DoubleData<R> extends PrimitiveData<R, Double> {
+
+        @Override
+        public Class<?> getPrimitiveType() {
+            return double.class;
+        }
     }
 
     public static class NumberData<R, V extends Number & Comparable<V>> extends BaseData<R, V> {
@@ -0,0 +1,165 @@
+package io.thedocs.soyuz.validator;
+
+import lombok.ToString;
+import org.apache.commons.beanutils.NestedNullException;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix tree of the validated properties. It is built once per validator, so every intermediate object
+ * (e.g. address for address.city and address.location) is fetched only once per validation.
+ */
+@ToString
+class FluentValidatorPropertyTree {
+
+    private static final Object UNRESOLVED = new Object();
+
+    private Node[] nodes;
+    private int[] entryNodes;
+    private int cacheSize;
+
+    FluentValidatorPropertyTree(@Nullable Class<?> rootClass, List<String> properties, @Nullable FluentValidatorAccessor.KeyTable keys) {
+        List<Node> nodes = new ArrayList<>();
+        Map<String, Integer> nodeByPath = new HashMap<>();
+
+        nodes.add(new Node(-1, null, new FluentValidatorAccessor.Self(rootClass)));
+
+        this.entryNodes = new int[properties.size()];
+
+        for (int i = 0; i < entryNodes.length; i++) {
+            String property = properties.get(i);
+
+            if (property == null) {
+                entryNodes[i] = 0;
+            } else if (!FluentValidatorAccessor.isSimplePath(property)) {
+                nodes.add(new Node(0, property, new FluentValidatorAccessor.Dynamic(property)));
+                entryNodes[i] = nodes.size() - 1;
+            } else {
+                int parent = 0;
+                String path = null;
+
+                for (String name : property.split("\\.")) {
+                    path = FluentValidatorObjects.PropertyUtils.mix(path, name);
+
+                    Integer index = nodeByPath.get(path);
+
+                    if (index == null) {
+                        nodes.add(new Node(parent, path, FluentValidatorAccessor.property(nodes.get(parent).accessor.getType(), name, keys)));
+                        index = nodes.size() - 1;
+                        nodeByPath.put(path, index);
+                    }
+
+                    parent = index;
+                }
+
+                entryNodes[i] = parent;
+            }
+        }
+
+        this.nodes = nodes.toArray(new Node[nodes.size()]);
+
+        //node value is cached only if it is used by more than one entry
+        int[] usages = new int[this.nodes.length];
+
+        for (int entryNode : entryNodes) {
+            for (int node = entryNode; node > 0; node = this.nodes[node].parent) {
+                usages[node]++;
+            }
+        }
+
+        for (int i = 1; i < this.nodes.length; i++) {
+            if (usages[i] > 1) {
+                this.nodes[i].cacheIndex = cacheSize++;
+            }
+        }
+    }
+
+    /**
+     * @return per validation cache of intermediate values or null if there are no shared properties
+     */
+    @Nullable
+    Object[] newCache() {
+        if (cacheSize == 0) {
+            return null;
+        } else {
+            Object[] cache = new Object[cacheSize];
+
+            Arrays.fill(cache, UNRESOLVED);
+
+            return cache;
+        }
+    }
+
+    Object get(Object rootObject, int entry, @Nullable Object[] cache) throws Exception {
+        return getNodeValue(rootObject, entryNodes[entry], cache);
+    }
+
+    /**
+     * @return getter of the last property of the entry or null if entry is not read with statically resolved getter
+     */
+    @Nullable
+    FluentValidatorAccessor.Getter getGetter(int entry) {
+        int index = entryNodes[entry];
+
+        return (index > 0 && nodes[index].accessor instanceof FluentValidatorAccessor.Getter) ? (FluentValidatorAccessor.Getter) nodes[index].accessor : null;
+    }
+
+    /**
+     * @return object which owns the last property of the entry (e.g. address for address.city)
+     */
+    Object getParent(Object rootObject, int entry, @Nullable Object[] cache) throws Exception {
+        Node node = nodes[entryNodes[entry]];
+        Object parentValue = getNodeValue(rootObject, node.parent, cache);
+
+        if (parentValue == null) {
+            throw new NestedNullException("Null property value for '" + node.path + "' on bean class '" + rootObject.getClass() + "'");
+        }
+
+        return parentValue;
+    }
+
+    private Object getNodeValue(Object rootObject, int index, @Nullable Object[] cache) throws Exception {
+        if (index == 0) {
+            return rootObject;
+        }
+
+        Node node = nodes[index];
+
+        if (node.cacheIndex >= 0 && cache[node.cacheIndex] != UNRESOLVED) {
+            return cache[node.cacheIndex];
+        }
+
+        Object parentValue = getNodeValue(rootObject, node.parent, cache);
+
+        if (parentValue == null) {
+            throw new NestedNullException("Null property value for '" + node.path + "' on bean class '" + rootObject.getClass() + "'");
+        }
+
+        Object value = node.accessor.get(parentValue);
+
+        if (node.cacheIndex >= 0) {
+            cache[node.cacheIndex] = value;
+        }
+
+        return value;
+    }
+
+    @ToString
+    private static class Node {
+        private int parent;
+        private String path;
+        private FluentValidatorAccessor accessor;
+        private int cacheIndex = -1;
+
+        Node(int parent, String path, FluentValidatorAccessor accessor) {
+            this.parent = parent;
+            this.path = path;
+            this.accessor = accessor;
+        }
+    }
+}
@@ -10,7 +10,17 @@ import javax.annotation.Nullable;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
@@ -21,16 +31,46 @@ public interface FluentValidatorRule<R, V> {
 
     Fv.Result validate(R rootObject, String property, V value);
 
+    default Fv.Result validate(R rootObject, String property, V value, FluentValidatorContext context) {
+        return validate(rootObject, property, value);
+    }
+
+    /**
+     * Rules which wait for async custom rules (directly or in nested validators) override it,
+     * others are checked synchronously (see FluentValidatorImpl#isAsync)
+     */
+    default CompletionStage<Fv.Result> validateAsync(R rootObject, String property, V value, FluentValidatorContext context) {
+        return CompletableFuture.completedFuture(validate(rootObject, property, value, context));
+    }
+
+    /**
+     * Checks the value without building errors
+     */
+    default boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+        Fv.Result result = validate(rootObject, property, value, context);
+
+        return result == null || result.isOk();
+    }
+
     abstract class AbstractRule<R, V> implements FluentValidatorRule<R, V> {
 
         public Fv.Result validate(R rootObject, String property, V value) {
             if (!isValid(rootObject, value)) {
-                return Fv.Result.failure(rootObject, Err.field(property).code(getCode()).value(value).params(getErrorParams()).build());
+                return failure(rootObject, property, value);
             } else {
                 return null;
             }
         }
 
+        protected Fv.Result failure(R rootObject, String property, V value) {
+            return Fv.Result.failure(rootObject, Err.field(property).code(getCode()).value(value).params(getErrorParams()).build());
+        }
+
+        @Override
+        public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+            return isValid(rootObject, value);
+        }
+
         @Nullable
         public Map<String, Object> getErrorParams() {
             return null;
@@ -41,8 +81,229 @@ public interface FluentValidatorRule<R, V> {
         protected abstract boolean isValid(R rootObject, V value);
     }
 
+    /**
+     * Rule which can check primitive int value without boxing. Value is boxed only to build an error
+     */
+    interface OfInt<R> {
+        boolean isValidInt(R rootObject, int value);
+    }
+
+    interface OfLong<R> {
+        boolean isValidLong(R rootObject, long value);
+    }
+
+    interface OfDouble<R> {
+        boolean isValidDouble(R rootObject, double value);
+    }
+
+    /**
+     * Rule which accepts non null value if its measure (string length, collection size, int value) is in [min, max].
+     * Contiguous bounded rules with the same measure are fused into the single range check by {@link Fused#fuse(List)}
+     */
+    interface Bounded {
+
+        /**
+         * @return measure of the value or null if rule checks only null / not null
+         */
+        @Nullable
+        Measure getMeasure();
+
+        long getMin();
+
+        long getMax();
+
+        boolean isNullValid();
+    }
+
+    enum Measure {
+        LENGTH {
+            @Override
+            long of(Object value) {
+                return ((String) value).length();
+            }
+        },
+        SIZE {
+            @Override
+            long of(Object value) {
+                return ((Collection) value).size();
+            }
+        },
+        INT {
+            @Override
+            long of(Object value) {
+                return (Integer) value;
+            }
+        },
+        LONG {
+            @Override
+            long of(Object value) {
+                return (Long) value;
+            }
+        };
+
+        abstract long of(Object value);
+    }
+
+    /**
+     * Contiguous bounded rules checked as a single range. Value is measured once; only if it is out of range
+     * original rules are evaluated in declared order, so the reported error is the same as for the unfused chain.
+     * Rules of every property are fused by FluentValidatorBuilder#build and #buildCompiled.
+     */
+    class Fused<R, V> implements FluentValidatorRule<R, V>, Bounded, OfInt<R>, OfLong<R> {
+        private final Measure measure;
+        private final long min;
+        private final long max;
+        private final boolean nullValid;
+        private final FluentValidatorRule<R, V>[] rules;
+
+        private Fused(@Nullable Measure measure, List<FluentValidatorRule<R, V>> rules) {
+            long min = Long.MIN_VALUE;
+            long max = Long.MAX_VALUE;
+            boolean nullValid = true;
+
+            for (FluentValidatorRule<R, V> rule : rules) {
+                Bounded bounded = (Bounded) rule;
+
+                min = Math.max(min, bounded.getMin());
+                max = Math.min(max, bounded.getMax());
+                nullValid &= bounded.isNullValid();
+            }
+
+            this.measure = measure;
+            this.min = min;
+            this.max = max;
+            this.nullValid = nullValid;
+            this.rules = rules.toArray(new FluentValidatorRule[rules.size()]);
+        }
+
+        /**
+         * Replaces each run of contiguous bounded rules with the same measure by a single fused rule.
+         * Rule is dropped if an earlier rule of the run is stronger (narrower range and not more tolerant to null),
+         * because it can never be the first failed rule.
+         */
+        public static <R, V> List<FluentValidatorRule<R, V>> fuse(List<FluentValidatorRule<R, V>> rules) {
+            List<FluentValidatorRule<R, V>> answer = new ArrayList<>(rules.size());
+            int i = 0;
+
+            while (i < rules.size()) {
+                if (!(rules.get(i) instanceof Bounded)) {
+                    answer.add(rules.get(i++));
+                    continue;
+                }
+
+                Measure measure = null;
+                List<FluentValidatorRule<R, V>> run = new ArrayList<>();
+
+                for (; i < rules.size() && rules.get(i) instanceof Bounded; i++) {
+                    Bounded bounded = (Bounded) rules.get(i);
+
+                    if (bounded.getMeasure() != null) {
+                        if (measure == null) {
+                            measure = bounded.getMeasure();
+                        } else if (measure != bounded.getMeasure()) {
+                            break;
+                        }
+                    }
+
+                    if (!isDominated(bounded, run)) {
+                        run.add(rules.get(i));
+                    }
+                }
+
+                answer.add((run.size() == 1) ? run.get(0) : new Fused<>(measure, run));
+            }
+
+            return answer;
+        }
+
+        private static boolean isDominated(Bounded rule, List<? extends FluentValidatorRule<?, ?>> previous) {
+            for (FluentValidatorRule<?, ?> previousRule : previous) {
+                Bounded stronger = (Bounded) previousRule;
+
+                if (stronger.getMin() >= rule.getMin() && stronger.getMax() <= rule.getMax() && (!stronger.isNullValid() || rule.isNullValid())) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public Fv.Result validate(R rootObject, String property, V value) {
+            return validate(rootObject, property, value, FluentValidatorContext.DEFAULT);
+        }
+
+        @Override
+        public Fv.Result validate(R rootObject, String property, V value, FluentValidatorContext context) {
+            if (isInRange(value)) {
+                return null;
+            }
+
+            for (FluentValidatorRule<R, V> rule : rules) {
+                Fv.Result result = rule.validate(rootObject, property, value, context);
+
+                if (result != null && result.hasErrors()) {
+                    return result;
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+            return isInRange(value);
+        }
+
+        @Override
+        public boolean isValidInt(R rootObject, int value) {
+            return value >= min && value <= max;
+        }
+
+        @Override
+        public boolean isValidLong(R rootObject, long value) {
+            return value >= min && value <= max;
+        }
+
+        private boolean isInRange(V value) {
+            if (value == null) {
+                return nullValid;
+            } else if (measure == null) {
+                return true;
+            } else {
+                long measured = measure.of(value);
+
+                return measured >= min && measured <= max;
+            }
+        }
+
+        @Override
+        public Measure getMeasure() {
+            return measure;
+        }
+
+        @Override
+        public long getMin() {
+            return min;
+        }
+
+        @Override
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public boolean isNullValid() {
+            return nullValid;
+        }
+
+        List<FluentValidatorRule<R, V>> getRules() {
+            return Arrays.asList(rules);
+        }
+    }
+
     interface Str {
-        class NotEmpty<R> extends AbstractRule<R, String> {
+        class NotEmpty<R> extends AbstractRule<R, String> implements Bounded {
             @Override
             protected String getCode() {
                 return "notEmpty";
@@ -52,6 +313,26 @@ public interface FluentValidatorRule<R, V> {
             protected boolean isValid(R rootObject, String value) {
                 return value != null && value.length() > 0;
             }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.LENGTH;
+            }
+
+            @Override
+            public long getMin() {
+                return 1;
+            }
+
+            @Override
+            public long getMax() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
         }
 
         class NotBlank<R> extends AbstractRule<R, String> {
@@ -66,7 +347,35 @@ public interface FluentValidatorRule<R, V> {
             }
         }
 
+        /**
+         * RFC 3986 syntax check with allowed schemes (http, https, ftp, file, jar, mailto by default)
+         */
         class Url<R> extends AbstractRule<R, String> {
+            private FvUtils.strings.Schemes schemes;
+
+            public Url() {
+                this.schemes = FvUtils.strings.Schemes.DEFAULT;
+            }
+
+            public Url(Collection<String> schemes) {
+                this.schemes = new FvUtils.strings.Schemes(schemes);
+            }
+
+            @Override
+            protected String getCode() {
+                return "url";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, String value) {
+                return value == null || FvUtils.strings.isUrl(value, schemes);
+            }
+        }
+
+        /**
+         * Checks that value can be parsed by new URL(value)
+         */
+        class LegacyUrl<R> extends AbstractRule<R, String> {
 
             @Override
             protected String getCode() {
@@ -91,8 +400,6 @@ public interface FluentValidatorRule<R, V> {
 
         class Email<R> extends AbstractRule<R, String> {
 
-            private static final Pattern MAIL_PATTERN = Pattern.compile("^[\\w!#$%&'*+/=?`{|}~^-]+(?:\\.[\\w!#$%&'*+/=?`{|}~^-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,20}$");
-
             @Override
             protected String getCode() {
                 return "email";
@@ -100,7 +407,7 @@ public interface FluentValidatorRule<R, V> {
 
             @Override
             protected boolean isValid(R rootObject, String value) {
-                return value == null || MAIL_PATTERN.matcher(value).matches();
+                return value == null || FvUtils.strings.isEmail(value);
             }
         }
 
@@ -124,15 +431,7 @@ public interface FluentValidatorRule<R, V> {
 
             @Override
             protected boolean isValid(R rootObject, String value) {
-                if (value == null) return false;
-
-                try {
-                    Byte.valueOf(value);
-
-                    return true;
-                } catch (NumberFormatException e) {
-                    return false;
-                }
+                return value != null && FvUtils.numbers.isByte(value);
             }
         }
 
@@ -144,15 +443,7 @@ public interface FluentValidatorRule<R, V> {
 
             @Override
             protected boolean isValid(R rootObject, String value) {
-                if (value == null) return false;
-
-                try {
-                    Short.valueOf(value);
-
-                    return true;
-                } catch (NumberFormatException e) {
-                    return false;
-                }
+                return value != null && FvUtils.numbers.isShort(value);
             }
         }
 
@@ -164,15 +455,7 @@ public interface FluentValidatorRule<R, V> {
 
             @Override
             protected boolean isValid(R rootObject, String value) {
-                if (value == null) return false;
-
-                try {
-                    Integer.valueOf(value);
-
-                    return true;
-                } catch (NumberFormatException e) {
-                    return false;
-                }
+                return value != null && FvUtils.numbers.isInteger(value);
             }
         }
 
@@ -184,15 +467,7 @@ public interface FluentValidatorRule<R, V> {
 
             @Override
             protected boolean isValid(R rootObject, String value) {
-                if (value == null) return false;
-
-                try {
-                    Long.valueOf(value);
-
-                    return true;
-                } catch (NumberFormatException e) {
-                    return false;
-                }
+                return value != null && FvUtils.numbers.isLong(value);
             }
         }
 
@@ -204,15 +479,7 @@ public interface FluentValidatorRule<R, V> {
 
             @Override
             protected boolean isValid(R rootObject, String value) {
-                if (value == null) return false;
-
-                try {
-                    Double.valueOf(value);
-
-                    return true;
-                } catch (NumberFormatException e) {
-                    return false;
-                }
+                return value != null && FvUtils.numbers.isDouble(value);
             }
         }
 
@@ -224,19 +491,11 @@ public interface FluentValidatorRule<R, V> {
 
             @Override
             protected boolean isValid(R rootObject, String value) {
-                if (value == null) return false;
-
-                try {
-                    Float.valueOf(value);
-
-                    return true;
-                } catch (NumberFormatException e) {
-                    return false;
-                }
+                return value != null && FvUtils.numbers.isFloat(value);
             }
         }
 
-        class GreaterOrEqual<R> extends AbstractRule<R, String> {
+        class GreaterOrEqual<R> extends AbstractRule<R, String> implements Bounded {
             private int size;
 
             public GreaterOrEqual(int size) {
@@ -257,9 +516,29 @@ public interface FluentValidatorRule<R, V> {
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", size);
             }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.LENGTH;
+            }
+
+            @Override
+            public long getMin() {
+                return size;
+            }
+
+            @Override
+            public long getMax() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
         }
 
-        class GreaterThan<R> extends AbstractRule<R, String> {
+        class GreaterThan<R> extends AbstractRule<R, String> implements Bounded {
             private int size;
 
             public GreaterThan(int size) {
@@ -280,9 +559,29 @@ public interface FluentValidatorRule<R, V> {
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", size);
             }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.LENGTH;
+            }
+
+            @Override
+            public long getMin() {
+                return size + 1L;
+            }
+
+            @Override
+            public long getMax() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
         }
 
-        class LessOrEqual<R> extends AbstractRule<R, String> {
+        class LessOrEqual<R> extends AbstractRule<R, String> implements Bounded {
             private int size;
 
             public LessOrEqual(int size) {
@@ -303,9 +602,29 @@ public interface FluentValidatorRule<R, V> {
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", size);
             }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.LENGTH;
+            }
+
+            @Override
+            public long getMin() {
+                return Long.MIN_VALUE;
+            }
+
+            @Override
+            public long getMax() {
+                return size;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return true;
+            }
         }
 
-        class LessThan<R> extends AbstractRule<R, String> {
+        class LessThan<R> extends AbstractRule<R, String> implements Bounded {
             private int size;
 
             public LessThan(int size) {
@@ -326,6 +645,26 @@ public interface FluentValidatorRule<R, V> {
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", size);
             }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.LENGTH;
+            }
+
+            @Override
+            public long getMin() {
+                return Long.MIN_VALUE;
+            }
+
+            @Override
+            public long getMax() {
+                return size - 1L;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return true;
+            }
         }
 
         class Matches<R> extends AbstractRule<R, String> {
@@ -348,7 +687,7 @@ public interface FluentValidatorRule<R, V> {
     }
 
     interface Int {
-        class GreaterOrEqual<R> extends AbstractRule<R, Integer> {
+        class GreaterOrEqual<R> extends AbstractRule<R, Integer> implements Bounded, OfInt<R> {
             private int value;
 
             public GreaterOrEqual(int value) {
@@ -365,13 +704,38 @@ public interface FluentValidatorRule<R, V> {
                 return value != null && value >= this.value;
             }
 
+            @Override
+            public boolean isValidInt(R rootObject, int value) {
+                return value >= this.value;
+            }
+
             @Override
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", value);
             }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.INT;
+            }
+
+            @Override
+            public long getMin() {
+                return value;
+            }
+
+            @Override
+            public long getMax() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
         }
 
-        class GreaterThan<R> extends AbstractRule<R, Integer> {
+        class GreaterThan<R> extends AbstractRule<R, Integer> implements Bounded, OfInt<R> {
             private int value;
 
             public GreaterThan(int value) {
@@ -388,13 +752,38 @@ public interface FluentValidatorRule<R, V> {
                 return value != null && value > this.value;
             }
 
+            @Override
+            public boolean isValidInt(R rootObject, int value) {
+                return value > this.value;
+            }
+
             @Override
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", value);
             }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.INT;
+            }
+
+            @Override
+            public long getMin() {
+                return value + 1L;
+            }
+
+            @Override
+            public long getMax() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
         }
 
-        class LessOrEqual<R> extends AbstractRule<R, Integer> {
+        class LessOrEqual<R> extends AbstractRule<R, Integer> implements Bounded, OfInt<R> {
             private int value;
 
             public LessOrEqual(int value) {
@@ -411,13 +800,38 @@ public interface FluentValidatorRule<R, V> {
                 return value != null && value <= this.value;
             }
 
+            @Override
+            public boolean isValidInt(R rootObject, int value) {
+                return value <= this.value;
+            }
+
             @Override
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", value);
             }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.INT;
+            }
+
+            @Override
+            public long getMin() {
+                return Long.MIN_VALUE;
+            }
+
+            @Override
+            public long getMax() {
+                return value;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
         }
 
-        class LessThan<R> extends AbstractRule<R, Integer> {
+        class LessThan<R> extends AbstractRule<R, Integer> implements Bounded, OfInt<R> {
             private int value;
 
             public LessThan(int value) {
@@ -434,135 +848,143 @@ public interface FluentValidatorRule<R, V> {
                 return value != null && value < this.value;
             }
 
+            @Override
+            public boolean isValidInt(R rootObject, int value) {
+                return value < this.value;
+            }
+
             @Override
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", value);
             }
-        }
-    }
 
-    interface N {
-        class GreaterOrEqual<R, V extends Number & Comparable<V>> extends AbstractRule<R, V> {
-            private V value;
-
-            public GreaterOrEqual(V value) {
-                this.value = value;
+            @Override
+            public Measure getMeasure() {
+                return Measure.INT;
             }
 
             @Override
-            protected String getCode() {
-                return "greaterOrEqual";
+            public long getMin() {
+                return Long.MIN_VALUE;
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                return value == null || value.compareTo(this.value) >= 0;
+            public long getMax() {
+                return value - 1L;
             }
 
             @Override
-            public Map<String, Object> getErrorParams() {
-                return FvUtils.to.map("criterion", value);
+            public boolean isNullValid() {
+                return false;
             }
         }
+    }
 
-        class GreaterThan<R, V extends Number & Comparable<V>> extends AbstractRule<R, V> {
-            private V value;
+    interface Lng {
+        class GreaterOrEqual<R> extends AbstractRule<R, Long> implements Bounded, OfLong<R> {
+            private long value;
 
-            public GreaterThan(V value) {
+            public GreaterOrEqual(long value) {
                 this.value = value;
             }
 
             @Override
             protected String getCode() {
-                return "greaterThan";
+                return "greaterOrEqual";
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                return value == null || value.compareTo(this.value) > 0;
+            protected boolean isValid(R rootObject, Long value) {
+                return value != null && value >= this.value;
+            }
+
+            @Override
+            public boolean isValidLong(R rootObject, long value) {
+                return value >= this.value;
             }
 
             @Override
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", value);
             }
-        }
-
-        class LessOrEqual<R, V extends Number & Comparable<V>> extends AbstractRule<R, V> {
-            private V value;
 
-            public LessOrEqual(V value) {
-                this.value = value;
+            @Override
+            public Measure getMeasure() {
+                return Measure.LONG;
             }
 
             @Override
-            protected String getCode() {
-                return "lessOrEqual";
+            public long getMin() {
+                return value;
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                return value == null || value.compareTo(this.value) <= 0;
+            public long getMax() {
+                return Long.MAX_VALUE;
             }
 
             @Override
-            public Map<String, Object> getErrorParams() {
-                return FvUtils.to.map("criterion", value);
+            public boolean isNullValid() {
+                return false;
             }
         }
 
-        class LessThan<R, V extends Number & Comparable<V>> extends AbstractRule<R, V> {
-            private V value;
+        class GreaterThan<R> extends AbstractRule<R, Long> implements Bounded, OfLong<R> {
+            private long value;
 
-            public LessThan(V value) {
+            public GreaterThan(long value) {
                 this.value = value;
             }
 
             @Override
             protected String getCode() {
-                return "lessThan";
+                return "greaterThan";
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                return value == null || value.compareTo(this.value) < 0;
+            protected boolean isValid(R rootObject, Long value) {
+                return value != null && value > this.value;
+            }
+
+            @Override
+            public boolean isValidLong(R rootObject, long value) {
+                return value > this.value;
             }
 
             @Override
             public Map<String, Object> getErrorParams() {
                 return FvUtils.to.map("criterion", value);
             }
-        }
-    }
 
-    interface D {
-        class LessThan<R, V> extends AbstractRule<R, V> {
-            private Supplier<V> dateSupplier;
-            private Comparator<V> comparator;
+            @Override
+            public Measure getMeasure() {
+                return Measure.LONG;
+            }
 
-            public LessThan(Supplier<V> dateSupplier, Comparator<V> comparator) {
-                this.dateSupplier = dateSupplier;
-                this.comparator = comparator;
+            @Override
+            public long getMin() {
+                return (value == Long.MAX_VALUE) ? Long.MAX_VALUE : value + 1L;
             }
 
+            /**
+             * Nothing is greater than Long.MAX_VALUE, so the range is empty
+             */
             @Override
-            protected String getCode() {
-                return "lessThan";
+            public long getMax() {
+                return (value == Long.MAX_VALUE) ? Long.MIN_VALUE : Long.MAX_VALUE;
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                return value == null || comparator.compare(value, dateSupplier.get()) < 0;
+            public boolean isNullValid() {
+                return false;
             }
         }
 
-        class LessOrEqual<R, V> extends AbstractRule<R, V> {
-            private Supplier<V> dateSupplier;
-            private Comparator<V> comparator;
+        class LessOrEqual<R> extends AbstractRule<R, Long> implements Bounded, OfLong<R> {
+            private long value;
 
-            public LessOrEqual(Supplier<V> dateSupplier, Comparator<V> comparator) {
-                this.dateSupplier = dateSupplier;
-                this.comparator = comparator;
+            public LessOrEqual(long value) {
+                this.value = value;
             }
 
             @Override
@@ -571,111 +993,96 @@ public interface FluentValidatorRule<R, V> {
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                return value == null || comparator.compare(value, dateSupplier.get()) <= 0;
+            protected boolean isValid(R rootObject, Long value) {
+                return value != null && value <= this.value;
             }
-        }
 
-        class GreaterThan<R, V> extends AbstractRule<R, V> {
-            private Supplier<V> dateSupplier;
-            private Comparator<V> comparator;
-
-            public GreaterThan(Supplier<V> dateSupplier, Comparator<V> comparator) {
-                this.dateSupplier = dateSupplier;
-                this.comparator = comparator;
+            @Override
+            public boolean isValidLong(R rootObject, long value) {
+                return value <= this.value;
             }
 
             @Override
-            protected String getCode() {
-                return "greaterThan";
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", value);
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                return value == null || comparator.compare(value, dateSupplier.get()) > 0;
+            public Measure getMeasure() {
+                return Measure.LONG;
             }
-        }
-
-        class GreaterOrEqual<R, V> extends AbstractRule<R, V> {
-            private Supplier<V> dateSupplier;
-            private Comparator<V> comparator;
 
-            public GreaterOrEqual(Supplier<V> dateSupplier, Comparator<V> comparator) {
-                this.dateSupplier = dateSupplier;
-                this.comparator = comparator;
+            @Override
+            public long getMin() {
+                return Long.MIN_VALUE;
             }
 
             @Override
-            protected String getCode() {
-                return "greaterOrEqual";
+            public long getMax() {
+                return value;
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                return value == null || comparator.compare(value, dateSupplier.get()) >= 0;
+            public boolean isNullValid() {
+                return false;
             }
         }
 
-        class Between<R, V> extends AbstractRule<R, V> {
-            private Supplier<V> afterSupplier;
-            private Supplier<V> beforeSupplier;
-            private Comparator<V> comparator;
+        class LessThan<R> extends AbstractRule<R, Long> implements Bounded, OfLong<R> {
+            private long value;
 
-            public Between(Supplier<V> afterSupplier, Supplier<V> beforeSupplier, Comparator<V> comparator) {
-                this.afterSupplier = afterSupplier;
-                this.beforeSupplier = beforeSupplier;
-                this.comparator = comparator;
+            public LessThan(long value) {
+                this.value = value;
             }
 
             @Override
             protected String getCode() {
-                return "between";
+                return "lessThan";
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                if (value == null) {
-                    return true;
-                } else {
-                    return comparator.compare(value, afterSupplier.get()) > 0 && comparator.compare(value, beforeSupplier.get()) < 0;
-                }
+            protected boolean isValid(R rootObject, Long value) {
+                return value != null && value < this.value;
             }
-        }
-    }
 
-    interface Obj {
-        class NotNull<R, V> extends AbstractRule<R, V> {
             @Override
-            protected String getCode() {
-                return "notNull";
+            public boolean isValidLong(R rootObject, long value) {
+                return value < this.value;
             }
 
             @Override
-            protected boolean isValid(R rootObject, V value) {
-                return value != null;
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", value);
             }
-        }
-    }
 
-    interface Coll {
-        class NotEmpty<R, V> extends AbstractRule<R, Collection<V>> {
+            @Override
+            public Measure getMeasure() {
+                return Measure.LONG;
+            }
 
             @Override
-            protected String getCode() {
-                return "notEmpty";
+            public long getMin() {
+                return (value == Long.MIN_VALUE) ? Long.MAX_VALUE : Long.MIN_VALUE;
             }
 
             @Override
-            protected boolean isValid(R rootObject, Collection<V> value) {
-                return value != null && !value.isEmpty();
+            public long getMax() {
+                return (value == Long.MIN_VALUE) ? Long.MIN_VALUE : value - 1L;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
             }
         }
+    }
 
-        class GreaterOrEqual<R, V> extends AbstractRule<R, Collection<V>> {
-            private int size;
+    interface Dbl {
+        class GreaterOrEqual<R> extends AbstractRule<R, Double> implements OfDouble<R> {
+            private double value;
 
-            public GreaterOrEqual(int size) {
-                this.size = size;
+            public GreaterOrEqual(double value) {
+                this.value = value;
             }
 
             @Override
@@ -684,21 +1091,26 @@ public interface FluentValidatorRule<R, V> {
             }
 
             @Override
-            protected boolean isValid(R rootObject, Collection<V> value) {
-                return value != null && value.size() >= size;
+            protected boolean isValid(R rootObject, Double value) {
+                return value != null && value >= this.value;
+            }
+
+            @Override
+            public boolean isValidDouble(R rootObject, double value) {
+                return value >= this.value;
             }
 
             @Override
             public Map<String, Object> getErrorParams() {
-                return FvUtils.to.map("criterion", size);
+                return FvUtils.to.map("criterion", value);
             }
         }
 
-        class GreaterThan<R, V> extends AbstractRule<R, Collection<V>> {
-            private int size;
+        class GreaterThan<R> extends AbstractRule<R, Double> implements OfDouble<R> {
+            private double value;
 
-            public GreaterThan(int size) {
-                this.size = size;
+            public GreaterThan(double value) {
+                this.value = value;
             }
 
             @Override
@@ -707,21 +1119,26 @@ public interface FluentValidatorRule<R, V> {
             }
 
             @Override
-            protected boolean isValid(R rootObject, Collection<V> value) {
-                return value != null && value.size() > size;
+            protected boolean isValid(R rootObject, Double value) {
+                return value != null && value > this.value;
+            }
+
+            @Override
+            public boolean isValidDouble(R rootObject, double value) {
+                return value > this.value;
             }
 
             @Override
             public Map<String, Object> getErrorParams() {
-                return FvUtils.to.map("criterion", size);
+                return FvUtils.to.map("criterion", value);
             }
         }
 
-        class LessOrEqual<R, V> extends AbstractRule<R, Collection<V>> {
-            private int size;
+        class LessOrEqual<R> extends AbstractRule<R, Double> implements OfDouble<R> {
+            private double value;
 
-            public LessOrEqual(int size) {
-                this.size = size;
+            public LessOrEqual(double value) {
+                this.value = value;
             }
 
             @Override
@@ -730,21 +1147,26 @@ public interface FluentValidatorRule<R, V> {
             }
 
             @Override
-            protected boolean isValid(R rootObject, Collection<V> value) {
-                return value == null || value.size() <= size;
+            protected boolean isValid(R rootObject, Double value) {
+                return value != null && value <= this.value;
+            }
+
+            @Override
+            public boolean isValidDouble(R rootObject, double value) {
+                return value <= this.value;
             }
 
             @Override
             public Map<String, Object> getErrorParams() {
-                return FvUtils.to.map("criterion", size);
+                return FvUtils.to.map("criterion", value);
             }
         }
 
-        class LessThan<R, V> extends AbstractRule<R, Collection<V>> {
-            private int size;
+        class LessThan<R> extends AbstractRule<R, Double> implements OfDouble<R> {
+            private double value;
 
-            public LessThan(int size) {
-                this.size = size;
+            public LessThan(double value) {
+                this.value = value;
             }
 
             @Override
@@ -753,124 +1175,948 @@ public interface FluentValidatorRule<R, V> {
             }
 
             @Override
-            protected boolean isValid(R rootObject, Collection<V> value) {
-                return value == null || value.size() < size;
+            protected boolean isValid(R rootObject, Double value) {
+                return value != null && value < this.value;
             }
 
             @Override
-            public Map<String, Object> getErrorParams() {
-                return FvUtils.to.map("criterion", size);
-            }
-        }
-
-        class ItemValidator<R, V> implements FluentValidatorRule<R, Collection<V>> {
-
-            private Fv.Validator<V> validator;
-
-            public ItemValidator(Fv.Validator<V> validator) {
-                this.validator = validator;
+            public boolean isValidDouble(R rootObject, double value) {
+                return value < this.value;
             }
 
             @Override
-            public Fv.Result validate(R rootObject, String property, Collection<V> value) {
-                if (value == null) {
-                    return Fv.Result.success();
-                } else {
-                    Errors errors = Errors.ok();
-                    int index = 0;
-
-                    for (V item : value) {
-                        Fv.Result result = validator.validate(item);
-
-                        if (result.hasErrors()) {
-                            errors.add(FluentValidatorObjects.ErrorUtils.addParentProperty(result.getErrors(), property + "[" + index + "]"));
-                        }
-
-                        index++;
-                    }
-
-                    if (errors.isOk()) {
-                        return Fv.Result.success();
-                    } else {
-                        return Fv.Result.failure(rootObject, errors);
-                    }
-                }
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", value);
             }
         }
     }
 
-    interface Base {
-
-        class Eq<R, V> extends AbstractRule<R, V> {
-
+    interface N {
+        class GreaterOrEqual<R, V extends Number & Comparable<V>> extends AbstractRule<R, V> {
             private V value;
 
-            public Eq(V value) {
+            public GreaterOrEqual(V value) {
                 this.value = value;
             }
 
             @Override
             protected String getCode() {
-                return "notEq";
+                return "greaterOrEqual";
             }
 
             @Override
             protected boolean isValid(R rootObject, V value) {
-                return value != null && value.equals(this.value);
+                return value == null || value.compareTo(this.value) >= 0;
             }
-        }
 
-        class EqFunction<R, V> extends AbstractRule<R, V> {
+            @Override
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", value);
+            }
+        }
 
-            private Function<V, Boolean> eqFunction;
+        class GreaterThan<R, V extends Number & Comparable<V>> extends AbstractRule<R, V> {
+            private V value;
 
-            public EqFunction(Function<V, Boolean> eqFunction) {
-                this.eqFunction = eqFunction;
+            public GreaterThan(V value) {
+                this.value = value;
             }
 
             @Override
             protected String getCode() {
-                return "notEq";
+                return "greaterThan";
             }
 
             @Override
             protected boolean isValid(R rootObject, V value) {
-                return eqFunction.apply(value);
+                return value == null || value.compareTo(this.value) > 0;
             }
-        }
 
-        class NotEq<R, V> implements FluentValidatorRule<R, V> {
+            @Override
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", value);
+            }
+        }
 
+        class LessOrEqual<R, V extends Number & Comparable<V>> extends AbstractRule<R, V> {
             private V value;
 
-            public NotEq(V value) {
+            public LessOrEqual(V value) {
                 this.value = value;
             }
 
             @Override
-            public Fv.Result validate(R rootObject, String property, V value) {
-                return null;
+            protected String getCode() {
+                return "lessOrEqual";
             }
-        }
-
-        class NotEqFunction<R, V> implements FluentValidatorRule<R, V> {
-
-            private Function<V, Boolean> notEqFunction;
 
-            public NotEqFunction(Function<V, Boolean> notEqFunction) {
-                this.notEqFunction = notEqFunction;
+            @Override
+            protected boolean isValid(R rootObject, V value) {
+                return value == null || value.compareTo(this.value) <= 0;
             }
 
             @Override
-            public Fv.Result validate(R rootObject, String property, V value) {
-                return null;
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", value);
             }
         }
 
-        class Custom<R, V> implements FluentValidatorRule<R, V> {
-
-            private FluentValidatorObjects.CustomValidator.Simple<R, V> customSimple;
-            private FluentValidatorObjects.CustomValidator.WithBuilder<R, V> customWithBuilder;
+        class LessThan<R, V extends Number & Comparable<V>> extends AbstractRule<R, V> {
+            private V value;
+
+            public LessThan(V value) {
+                this.value = value;
+            }
+
+            @Override
+            protected String getCode() {
+                return "lessThan";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value) {
+                return value == null || value.compareTo(this.value) < 0;
+            }
+
+            @Override
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", value);
+            }
+        }
+    }
+
+    interface D {
+
+        /**
+         * Date rules take the value to compare with from the context, so suppliers are called (and the clock is read)
+         * once per validation (see FluentValidatorContext)
+         */
+        abstract class DateRule<R, V> extends AbstractRule<R, V> {
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, V value, FluentValidatorContext context) {
+                return (isValid(rootObject, value, context)) ? null : failure(rootObject, property, value);
+            }
+
+            @Override
+            public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+                return isValid(rootObject, value, context);
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value) {
+                return isValid(rootObject, value, FluentValidatorContext.DEFAULT);
+            }
+
+            protected abstract boolean isValid(R rootObject, V value, FluentValidatorContext context);
+        }
+
+        class LessThan<R, V> extends DateRule<R, V> {
+            private Function<FluentValidatorContext, V> date;
+            private Comparator<V> comparator;
+
+            public LessThan(Supplier<V> dateSupplier, Comparator<V> comparator) {
+                this(context -> context.get(dateSupplier), comparator);
+            }
+
+            /**
+             * @param date value to compare with, e.g. context -> context.now(LocalDate::now)
+             */
+            public LessThan(Function<FluentValidatorContext, V> date, Comparator<V> comparator) {
+                this.date = date;
+                this.comparator = comparator;
+            }
+
+            @Override
+            protected String getCode() {
+                return "lessThan";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value, FluentValidatorContext context) {
+                return value == null || comparator.compare(value, date.apply(context)) < 0;
+            }
+        }
+
+        class LessOrEqual<R, V> extends DateRule<R, V> {
+            private Function<FluentValidatorContext, V> date;
+            private Comparator<V> comparator;
+
+            public LessOrEqual(Supplier<V> dateSupplier, Comparator<V> comparator) {
+                this(context -> context.get(dateSupplier), comparator);
+            }
+
+            /**
+             * @param date value to compare with, e.g. context -> context.now(LocalDate::now)
+             */
+            public LessOrEqual(Function<FluentValidatorContext, V> date, Comparator<V> comparator) {
+                this.date = date;
+                this.comparator = comparator;
+            }
+
+            @Override
+            protected String getCode() {
+                return "lessOrEqual";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value, FluentValidatorContext context) {
+                return value == null || comparator.compare(value, date.apply(context)) <= 0;
+            }
+        }
+
+        class GreaterThan<R, V> extends DateRule<R, V> {
+            private Function<FluentValidatorContext, V> date;
+            private Comparator<V> comparator;
+
+            public GreaterThan(Supplier<V> dateSupplier, Comparator<V> comparator) {
+                this(context -> context.get(dateSupplier), comparator);
+            }
+
+            /**
+             * @param date value to compare with, e.g. context -> context.now(LocalDate::now)
+             */
+            public GreaterThan(Function<FluentValidatorContext, V> date, Comparator<V> comparator) {
+                this.date = date;
+                this.comparator = comparator;
+            }
+
+            @Override
+            protected String getCode() {
+                return "greaterThan";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value, FluentValidatorContext context) {
+                return value == null || comparator.compare(value, date.apply(context)) > 0;
+            }
+        }
+
+        class GreaterOrEqual<R, V> extends DateRule<R, V> {
+            private Function<FluentValidatorContext, V> date;
+            private Comparator<V> comparator;
+
+            public GreaterOrEqual(Supplier<V> dateSupplier, Comparator<V> comparator) {
+                this(context -> context.get(dateSupplier), comparator);
+            }
+
+            /**
+             * @param date value to compare with, e.g. context -> context.now(LocalDate::now)
+             */
+            public GreaterOrEqual(Function<FluentValidatorContext, V> date, Comparator<V> comparator) {
+                this.date = date;
+                this.comparator = comparator;
+            }
+
+            @Override
+            protected String getCode() {
+                return "greaterOrEqual";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value, FluentValidatorContext context) {
+                return value == null || comparator.compare(value, date.apply(context)) >= 0;
+            }
+        }
+
+        class Between<R, V> extends DateRule<R, V> {
+            private Function<FluentValidatorContext, V> after;
+            private Function<FluentValidatorContext, V> before;
+            private Comparator<V> comparator;
+
+            public Between(Supplier<V> afterSupplier, Supplier<V> beforeSupplier, Comparator<V> comparator) {
+                this(context -> context.get(afterSupplier), context -> context.get(beforeSupplier), comparator);
+            }
+
+            public Between(Function<FluentValidatorContext, V> after, Function<FluentValidatorContext, V> before, Comparator<V> comparator) {
+                this.after = after;
+                this.before = before;
+                this.comparator = comparator;
+            }
+
+            @Override
+            protected String getCode() {
+                return "between";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value, FluentValidatorContext context) {
+                if (value == null) {
+                    return true;
+                } else {
+                    return comparator.compare(value, after.apply(context)) > 0 && comparator.compare(value, before.apply(context)) < 0;
+                }
+            }
+        }
+    }
+
+    interface Obj {
+        class NotNull<R, V> extends AbstractRule<R, V> implements Bounded {
+            @Override
+            protected String getCode() {
+                return "notNull";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value) {
+                return value != null;
+            }
+
+            @Override
+            public Measure getMeasure() {
+                return null;
+            }
+
+            @Override
+            public long getMin() {
+                return Long.MIN_VALUE;
+            }
+
+            @Override
+            public long getMax() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
+        }
+    }
+
+    interface Coll {
+        class NotEmpty<R, V> extends AbstractRule<R, Collection<V>> implements Bounded {
+
+            @Override
+            protected String getCode() {
+                return "notEmpty";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, Collection<V> value) {
+                return value != null && !value.isEmpty();
+            }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.SIZE;
+            }
+
+            @Override
+            public long getMin() {
+                return 1;
+            }
+
+            @Override
+            public long getMax() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
+        }
+
+        class GreaterOrEqual<R, V> extends AbstractRule<R, Collection<V>> implements Bounded {
+            private int size;
+
+            public GreaterOrEqual(int size) {
+                this.size = size;
+            }
+
+            @Override
+            protected String getCode() {
+                return "greaterOrEqual";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, Collection<V> value) {
+                return value != null && value.size() >= size;
+            }
+
+            @Override
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", size);
+            }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.SIZE;
+            }
+
+            @Override
+            public long getMin() {
+                return size;
+            }
+
+            @Override
+            public long getMax() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
+        }
+
+        class GreaterThan<R, V> extends AbstractRule<R, Collection<V>> implements Bounded {
+            private int size;
+
+            public GreaterThan(int size) {
+                this.size = size;
+            }
+
+            @Override
+            protected String getCode() {
+                return "greaterThan";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, Collection<V> value) {
+                return value != null && value.size() > size;
+            }
+
+            @Override
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", size);
+            }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.SIZE;
+            }
+
+            @Override
+            public long getMin() {
+                return size + 1L;
+            }
+
+            @Override
+            public long getMax() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return false;
+            }
+        }
+
+        class LessOrEqual<R, V> extends AbstractRule<R, Collection<V>> implements Bounded {
+            private int size;
+
+            public LessOrEqual(int size) {
+                this.size = size;
+            }
+
+            @Override
+            protected String getCode() {
+                return "lessOrEqual";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, Collection<V> value) {
+                return value == null || value.size() <= size;
+            }
+
+            @Override
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", size);
+            }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.SIZE;
+            }
+
+            @Override
+            public long getMin() {
+                return Long.MIN_VALUE;
+            }
+
+            @Override
+            public long getMax() {
+                return size;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return true;
+            }
+        }
+
+        class LessThan<R, V> extends AbstractRule<R, Collection<V>> implements Bounded {
+            private int size;
+
+            public LessThan(int size) {
+                this.size = size;
+            }
+
+            @Override
+            protected String getCode() {
+                return "lessThan";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, Collection<V> value) {
+                return value == null || value.size() < size;
+            }
+
+            @Override
+            public Map<String, Object> getErrorParams() {
+                return FvUtils.to.map("criterion", size);
+            }
+
+            @Override
+            public Measure getMeasure() {
+                return Measure.SIZE;
+            }
+
+            @Override
+            public long getMin() {
+                return Long.MIN_VALUE;
+            }
+
+            @Override
+            public long getMax() {
+                return size - 1L;
+            }
+
+            @Override
+            public boolean isNullValid() {
+                return true;
+            }
+        }
+
+        class ItemValidator<R, V> implements FluentValidatorRule<R, Collection<V>> {
+
+            private Fv.Validator<V> validator;
+
+            public ItemValidator(Fv.Validator<V> validator) {
+                this.validator = validator;
+            }
+
+            Fv.Validator<V> getValidator() {
+                return validator;
+            }
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, Collection<V> value) {
+                return validate(rootObject, property, value, FluentValidatorContext.DEFAULT);
+            }
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, Collection<V> value, FluentValidatorContext context) {
+                if (value == null) {
+                    return null;
+                } else {
+                    Errors errors = null;
+                    int index = 0;
+
+                    for (V item : value) {
+                        Errors itemErrors = validator.findErrors(item, context);
+
+                        if (itemErrors != null) {
+                            if (errors == null) {
+                                errors = Errors.ok();
+                            }
+
+                            errors.add(FluentValidatorObjects.ErrorUtils.addParentProperty(itemErrors, property + "[" + index + "]"));
+
+                            if (context.isFailFast()) {
+                                break;
+                            }
+                        }
+
+                        index++;
+                    }
+
+                    return (errors == null) ? null : Fv.Result.failure(rootObject, errors);
+                }
+            }
+
+            /**
+             * Items are validated concurrently, errors are merged in index order
+             */
+            @Override
+            public CompletionStage<Fv.Result> validateAsync(R rootObject, String property, Collection<V> value, FluentValidatorContext context) {
+                if (value == null) {
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                CompletableFuture<Errors>[] items = new CompletableFuture[value.size()];
+                int index = 0;
+
+                for (V item : value) {
+                    items[index++] = validator.findErrorsAsync(item, context).toCompletableFuture();
+                }
+
+                return CompletableFuture.allOf(items).thenApply(ignored -> {
+                    Errors errors = null;
+
+                    for (int i = 0; i < items.length; i++) {
+                        Errors itemErrors = items[i].join();
+
+                        if (itemErrors != null) {
+                            if (errors == null) {
+                                errors = Errors.ok();
+                            }
+
+                            errors.add(FluentValidatorObjects.ErrorUtils.addParentProperty(itemErrors, property + "[" + i + "]"));
+
+                            if (context.isFailFast()) {
+                                break;
+                            }
+                        }
+                    }
+
+                    return (errors == null) ? null : Fv.Result.failure(rootObject, errors);
+                });
+            }
+
+            @Override
+            public boolean isValid(R rootObject, String property, Collection<V> value, FluentValidatorContext context) {
+                if (value != null) {
+                    for (V item : value) {
+                        if (!validator.isValid(item, context)) {
+                            return false;
+                        }
+                    }
+                }
+
+                return true;
+            }
+        }
+
+        /**
+         * Validates items of big RandomAccess lists in chunks on the executor. Chunk errors are merged in index order,
+         * so the result is the same as the sequential one (with fail fast the first failing item is reported too).
+         * Smaller and not RandomAccess collections are validated on the calling thread.
+         * <p>
+         * Chunks are not bound to executor tasks: the calling thread and the tasks claim the next chunk from the shared counter,
+         * so the caller runs every chunk nobody has started and then waits only for chunks which are running already.
+         * Nested parallel validators on the same bounded executor can't deadlock: no thread waits for the task queued behind it.
+         */
+        class ParallelItemValidator<R, V> extends ItemValidator<R, V> {
+
+            private static final int MIN_CHUNK_SIZE = 256;
+
+            private int threshold;
+            private Executor executor;
+            private int parallelism;
+
+            public ParallelItemValidator(Fv.Validator<V> validator, int threshold, Executor executor) {
+                super(validator);
+                this.threshold = Math.max(threshold, 1);
+                this.executor = executor;
+                this.parallelism = (executor instanceof ForkJoinPool) ? ((ForkJoinPool) executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+            }
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, Collection<V> value, FluentValidatorContext context) {
+                if (!isParallel(value)) {
+                    return super.validate(rootObject, property, value, context);
+                }
+
+                List<V> items = (List<V>) value;
+                int chunkSize = getChunkSize(items.size());
+                AtomicInteger failedChunk = new AtomicInteger(Integer.MAX_VALUE);
+                List<CompletableFuture<Errors>> chunks = runChunks((items.size() + chunkSize - 1) / chunkSize,
+                        chunk -> findErrors(items, chunk, chunk * chunkSize, Math.min((chunk + 1) * chunkSize, items.size()), property, failedChunk, context));
+                Errors errors = null;
+
+                for (CompletableFuture<Errors> chunk : chunks) {
+                    if (errors != null && context.isFailFast()) {
+                        break;
+                    }
+
+                    Errors chunkErrors = join(chunk);
+
+                    if (chunkErrors != null) {
+                        if (errors == null) {
+                            errors = Errors.ok();
+                        }
+
+                        errors.add(chunkErrors);
+                    }
+                }
+
+                return (errors == null) ? null : Fv.Result.failure(rootObject, errors);
+            }
+
+            @Override
+            public boolean isValid(R rootObject, String property, Collection<V> value, FluentValidatorContext context) {
+                if (!isParallel(value)) {
+                    return super.isValid(rootObject, property, value, context);
+                }
+
+                List<V> items = (List<V>) value;
+                int chunkSize = getChunkSize(items.size());
+                AtomicBoolean invalid = new AtomicBoolean();
+                List<CompletableFuture<Boolean>> chunks = runChunks((items.size() + chunkSize - 1) / chunkSize,
+                        chunk -> isValid(items, chunk * chunkSize, Math.min((chunk + 1) * chunkSize, items.size()), invalid, context));
+                boolean answer = true;
+
+                for (CompletableFuture<Boolean> chunk : chunks) {
+                    answer &= join(chunk);
+                }
+
+                return answer;
+            }
+
+            /**
+             * Runs chunks on the calling thread and on up to parallelism - 1 executor tasks. Every thread claims the next
+             * not started chunk until there are no more. Returns when all chunks are started (some can still be running)
+             */
+            private <T> List<CompletableFuture<T>> runChunks(int count, IntFunction<T> task) {
+                List<CompletableFuture<T>> answer = new ArrayList<>(count);
+                AtomicInteger next = new AtomicInteger();
+
+                for (int i = 0; i < count; i++) {
+                    answer.add(new CompletableFuture<>());
+                }
+
+                Runnable worker = () -> {
+                    for (int chunk = next.getAndIncrement(); chunk < count; chunk = next.getAndIncrement()) {
+                        try {
+                            answer.get(chunk).complete(task.apply(chunk));
+                        } catch (Throwable e) {
+                            answer.get(chunk).completeExceptionally(e);
+                        }
+                    }
+                };
+
+                for (int i = 1; i < Math.min(parallelism, count); i++) {
+                    try {
+                        executor.execute(worker);
+                    } catch (RejectedExecutionException e) {
+                        //the calling thread validates the rest
+                        break;
+                    }
+                }
+
+                worker.run();
+
+                return answer;
+            }
+
+            private boolean isParallel(Collection<V> value) {
+                return value instanceof List && value instanceof RandomAccess && value.size() >= threshold && value.size() > MIN_CHUNK_SIZE;
+            }
+
+            private int getChunkSize(int size) {
+                int chunks = parallelism * 4;
+
+                return Math.max(MIN_CHUNK_SIZE, (size + chunks - 1) / chunks);
+            }
+
+            /**
+             * With fail fast chunk stops on its first error or when some previous chunk has failed already
+             */
+            @Nullable
+            private Errors findErrors(List<V> items, int chunk, int from, int to, String property, AtomicInteger failedChunk, FluentValidatorContext context) {
+                Errors errors = null;
+
+                for (int index = from; index < to; index++) {
+                    if (context.isFailFast() && failedChunk.get() < chunk) {
+                        return null;
+                    }
+
+                    Errors itemErrors = getValidator().findErrors(items.get(index), context);
+
+                    if (itemErrors != null) {
+                        if (errors == null) {
+                            errors = Errors.ok();
+                        }
+
+                        errors.add(FluentValidatorObjects.ErrorUtils.addParentProperty(itemErrors, property + "[" + index + "]"));
+
+                        if (context.isFailFast()) {
+                            failedChunk.accumulateAndGet(chunk, Math::min);
+                            break;
+                        }
+                    }
+                }
+
+                return errors;
+            }
+
+            private boolean isValid(List<V> items, int from, int to, AtomicBoolean invalid, FluentValidatorContext context) {
+                for (int index = from; index < to && !invalid.get(); index++) {
+                    if (!getValidator().isValid(items.get(index), context)) {
+                        invalid.set(true);
+
+                        return false;
+                    }
+                }
+
+                return !invalid.get();
+            }
+
+            private static <T> T join(CompletableFuture<T> future) {
+                try {
+                    return future.join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    } else if (e.getCause() instanceof java.lang.Error) {
+                        throw (java.lang.Error) e.getCause();
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    interface Base {
+
+        class Eq<R, V> extends AbstractRule<R, V> {
+
+            private V value;
+
+            public Eq(V value) {
+                this.value = value;
+            }
+
+            @Override
+            protected String getCode() {
+                return "notEq";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value) {
+                return value != null && value.equals(this.value);
+            }
+        }
+
+        class EqFunction<R, V> extends AbstractRule<R, V> {
+
+            private Function<V, Boolean> eqFunction;
+
+            public EqFunction(Function<V, Boolean> eqFunction) {
+                this.eqFunction = eqFunction;
+            }
+
+            @Override
+            protected String getCode() {
+                return "notEq";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value) {
+                return eqFunction.apply(value);
+            }
+        }
+
+        class NotEq<R, V> implements FluentValidatorRule<R, V> {
+
+            private V value;
+
+            public NotEq(V value) {
+                this.value = value;
+            }
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, V value) {
+                return null;
+            }
+        }
+
+        class NotEqFunction<R, V> implements FluentValidatorRule<R, V> {
+
+            private Function<V, Boolean> notEqFunction;
+
+            public NotEqFunction(Function<V, Boolean> notEqFunction) {
+                this.notEqFunction = notEqFunction;
+            }
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, V value) {
+                return null;
+            }
+        }
+
+        /**
+         * Value must be one of the values (null is not). Values are compiled to FluentValidatorSet when rule is created
+         */
+        class OneOf<R, V> extends AbstractRule<R, V> implements OfInt<R>, OfLong<R>, OfDouble<R> {
+
+            private FluentValidatorSet values;
+
+            public OneOf(Collection<? extends V> values) {
+                this.values = FluentValidatorSet.of(values);
+            }
+
+            @Override
+            protected String getCode() {
+                return "oneOf";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value) {
+                return values.contains(value);
+            }
+
+            @Override
+            public boolean isValidInt(R rootObject, int value) {
+                return values.containsInt(value);
+            }
+
+            @Override
+            public boolean isValidLong(R rootObject, long value) {
+                return values.containsLong(value);
+            }
+
+            @Override
+            public boolean isValidDouble(R rootObject, double value) {
+                return values.containsDouble(value);
+            }
+        }
+
+        /**
+         * Value must not be one of the values (null is valid)
+         */
+        class NoneOf<R, V> extends AbstractRule<R, V> implements OfInt<R>, OfLong<R>, OfDouble<R> {
+
+            private FluentValidatorSet values;
+
+            public NoneOf(Collection<? extends V> values) {
+                this.values = FluentValidatorSet.of(values);
+            }
+
+            @Override
+            protected String getCode() {
+                return "noneOf";
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value) {
+                return value == null || !values.contains(value);
+            }
+
+            @Override
+            public boolean isValidInt(R rootObject, int value) {
+                return !values.containsInt(value);
+            }
+
+            @Override
+            public boolean isValidLong(R rootObject, long value) {
+                return !values.containsLong(value);
+            }
+
+            @Override
+            public boolean isValidDouble(R rootObject, double value) {
+                return !values.containsDouble(value);
+            }
+        }
+
+        class Custom<R, V> implements FluentValidatorRule<R, V> {
+
+            private FluentValidatorObjects.CustomValidator.Simple<R, V> customSimple;
+            private FluentValidatorObjects.CustomValidator.WithBuilder<R, V> customWithBuilder;
 
             public Custom(FluentValidatorObjects.CustomValidator.Simple<R, V> customSimple) {
                 this.customSimple = customSimple;
@@ -897,9 +2143,22 @@ public interface FluentValidatorRule<R, V> {
                 }
             }
 
-            private Fv.Result toFvResult(Fv.CustomResult result, R rootObject, String property, V value) {
+            @Override
+            public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+                Fv.CustomResult result = null;
+
+                if (customSimple != null) {
+                    result = customSimple.validate(rootObject, value);
+                } else if (customWithBuilder != null) {
+                    result = customWithBuilder.validate(rootObject, value, new FluentValidatorBuilder<>());
+                }
+
+                return result == null || result.isOk();
+            }
+
+            static <R, V> Fv.Result toFvResult(Fv.CustomResult result, R rootObject, String property, V value) {
                 if (result.isOk()) {
-                    return Fv.Result.success(rootObject);
+                    return null;
                 } else {
                     Errors errorsSource = result.getErrors();
                     List<Err> errors = new ArrayList<>(errorsSource.get().size());
@@ -919,6 +2178,113 @@ public interface FluentValidatorRule<R, V> {
             }
         }
 
+        /**
+         * Custom rule which returns the result asynchronously (e.g. after remote or db lookup).
+         * Fv.Validator#validateAsync doesn't wait for it, validate and isValid block until the result is ready
+         */
+        class AsyncCustom<R, V> implements FluentValidatorRule<R, V> {
+
+            private FluentValidatorObjects.CustomValidator.Async<R, V> customAsync;
+
+            public AsyncCustom(FluentValidatorObjects.CustomValidator.Async<R, V> customAsync) {
+                this.customAsync = customAsync;
+            }
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, V value) {
+                return join(validateAsync(rootObject, property, value, FluentValidatorContext.DEFAULT));
+            }
+
+            @Override
+            public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+                Fv.Result result = validate(rootObject, property, value);
+
+                return result == null || result.isOk();
+            }
+
+            @Override
+            public CompletionStage<Fv.Result> validateAsync(R rootObject, String property, V value, FluentValidatorContext context) {
+                return customAsync.validate(rootObject, value).thenApply(result -> (result == null) ? null : Custom.toFvResult(result, rootObject, property, value));
+            }
+
+            static <T> T join(CompletionStage<T> stage) {
+                try {
+                    return stage.toCompletableFuture().join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Custom rule with keyed bulk lookup. Keys are collected by the context of validation (see FluentValidatorContext#load),
+         * so validateAsync of the whole object registers all keys before the lookup is called
+         */
+        class BatchedCustom<R, V, K> extends AbstractRule<R, V> {
+
+            private BiFunction<R, V, K> key;
+            private FluentValidatorObjects.CustomValidator.Batched<K> lookup;
+            private String code;
+
+            public BatchedCustom(BiFunction<R, V, K> key, FluentValidatorObjects.CustomValidator.Batched<K> lookup, String code) {
+                this.key = key;
+                this.lookup = lookup;
+                this.code = code;
+            }
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, V value) {
+                return validate(rootObject, property, value, FluentValidatorContext.DEFAULT);
+            }
+
+            @Override
+            public Fv.Result validate(R rootObject, String property, V value, FluentValidatorContext context) {
+                return (isValid(rootObject, property, value, context)) ? null : failure(rootObject, property, value);
+            }
+
+            @Override
+            public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+                K key = this.key.apply(rootObject, value);
+
+                if (key == null) {
+                    return true;
+                }
+
+                CompletableFuture<Boolean> answer = context.load(lookup, key);
+
+                if (!answer.isDone()) {
+                    context.dispatch();
+                }
+
+                return AsyncCustom.join(answer);
+            }
+
+            @Override
+            public CompletionStage<Fv.Result> validateAsync(R rootObject, String property, V value, FluentValidatorContext context) {
+                K key = this.key.apply(rootObject, value);
+
+                if (key == null) {
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                return context.load(lookup, key).thenApply(valid -> (valid) ? null : failure(rootObject, property, value));
+            }
+
+            @Override
+            protected String getCode() {
+                return code;
+            }
+
+            @Override
+            protected boolean isValid(R rootObject, V value) {
+                return isValid(rootObject, null, value, FluentValidatorContext.DEFAULT);
+            }
+        }
+
         class Validator<R, V> implements FluentValidatorRule<R, V> {
 
             private Fv.Validator<V> validator;
@@ -927,16 +2293,36 @@ public interface FluentValidatorRule<R, V> {
                 this.validator = validator;
             }
 
+            Fv.Validator<V> getValidator() {
+                return validator;
+            }
+
             @Override
             public Fv.Result validate(R rootObject, String property, V value) {
-                Fv.Result result = validator.validate(value);
+                return validate(rootObject, property, value, FluentValidatorContext.DEFAULT);
+            }
 
-                if (result.isOk()) {
-                    return result;
+            @Override
+            public Fv.Result validate(R rootObject, String property, V value, FluentValidatorContext context) {
+                Errors errors = validator.findErrors(value, context);
+
+                if (errors == null) {
+                    return null;
                 } else {
-                    return Fv.Result.failure(rootObject, FluentValidatorObjects.ErrorUtils.addParentProperty(result.getErrors(), property));
+                    return Fv.Result.failure(rootObject, FluentValidatorObjects.ErrorUtils.addParentProperty(errors, property));
                 }
             }
+
+            @Override
+            public CompletionStage<Fv.Result> validateAsync(R rootObject, String property, V value, FluentValidatorContext context) {
+                return validator.findErrorsAsync(value, context)
+                        .thenApply(errors -> (errors == null) ? null : Fv.Result.failure(rootObject, FluentValidatorObjects.ErrorUtils.addParentProperty(errors, property)));
+            }
+
+            @Override
+            public boolean isValid(R rootObject, String property, V value, FluentValidatorContext context) {
+                return validator.isValid(value, context);
+            }
         }
     }
 
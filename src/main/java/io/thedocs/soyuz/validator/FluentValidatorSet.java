@@ -0,0 +1,274 @@
+package io.thedocs.soyuz.validator;
+
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Immutable set of the allowed / forbidden values (see oneOf / noneOf rules). It is compiled once, when validator is built,
+ * into the structure which fits its values best:
+ * <ul>
+ * <li>enums - EnumSet</li>
+ * <li>integral numbers - sorted long[] with binary search, primitive values are checked without boxing</li>
+ * <li>floating point numbers - sorted double[] with binary search</li>
+ * <li>small string sets - perfect hash table (single probe), bigger sets - open addressing table</li>
+ * <li>other objects - HashSet</li>
+ * </ul>
+ * Membership follows equals of the values, e.g. Long 1 is not in the set of Integer 1.
+ */
+abstract class FluentValidatorSet {
+
+    private static final int PERFECT_HASH_MAX_SIZE = 64;
+    private static final int PERFECT_HASH_ATTEMPTS = 256;
+
+    static FluentValidatorSet of(Collection<?> values) {
+        Class<?> type = getCommonType(values);
+
+        if (type == null) {
+            return new Hashed(values);
+        } else if (type.isEnum()) {
+            return new Enums(values);
+        } else if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return new Longs(type, values);
+        } else if (type == Double.class || type == Float.class) {
+            return new Doubles(type, values);
+        } else if (type == String.class) {
+            return Strings.of(values);
+        } else {
+            return new Hashed(values);
+        }
+    }
+
+    abstract boolean contains(@Nullable Object value);
+
+    boolean containsInt(int value) {
+        return contains(value);
+    }
+
+    boolean containsLong(long value) {
+        return contains(value);
+    }
+
+    boolean containsDouble(double value) {
+        return contains(value);
+    }
+
+    /**
+     * @return class of all the values (declaring class for enums) or null if values are empty, mixed or contain null
+     */
+    @Nullable
+    private static Class<?> getCommonType(Collection<?> values) {
+        Class<?> answer = null;
+
+        for (Object value : values) {
+            if (value == null) {
+                return null;
+            }
+
+            Class<?> type = (value instanceof Enum) ? ((Enum) value).getDeclaringClass() : value.getClass();
+
+            if (answer == null) {
+                answer = type;
+            } else if (answer != type) {
+                return null;
+            }
+        }
+
+        return answer;
+    }
+
+    @ToString
+    private static final class Hashed extends FluentValidatorSet {
+        private final Set<Object> values;
+
+        Hashed(Collection<?> values) {
+            this.values = new HashSet<>(values);
+        }
+
+        @Override
+        boolean contains(@Nullable Object value) {
+            return values.contains(value);
+        }
+    }
+
+    @ToString
+    private static final class Enums extends FluentValidatorSet {
+        private final EnumSet values;
+
+        Enums(Collection<?> values) {
+            this.values = EnumSet.copyOf((Collection) values);
+        }
+
+        @Override
+        boolean contains(@Nullable Object value) {
+            return value != null && values.contains(value);
+        }
+    }
+
+    @ToString
+    private static final class Longs extends FluentValidatorSet {
+        private final Class<?> type;
+        private final long[] values;
+
+        Longs(Class<?> type, Collection<?> values) {
+            this.type = type;
+            this.values = new long[values.size()];
+
+            int i = 0;
+
+            for (Object value : values) {
+                this.values[i++] = ((Number) value).longValue();
+            }
+
+            Arrays.sort(this.values);
+        }
+
+        @Override
+        boolean contains(@Nullable Object value) {
+            return value != null && value.getClass() == type && Arrays.binarySearch(values, ((Number) value).longValue()) >= 0;
+        }
+
+        @Override
+        boolean containsInt(int value) {
+            return type == Integer.class && Arrays.binarySearch(values, value) >= 0;
+        }
+
+        @Override
+        boolean containsLong(long value) {
+            return type == Long.class && Arrays.binarySearch(values, value) >= 0;
+        }
+    }
+
+    /**
+     * Arrays.sort / binarySearch order doubles as Double.compare does, so -0.0 and 0.0 are different and NaN is found as Double.equals does
+     */
+    @ToString
+    private static final class Doubles extends FluentValidatorSet {
+        private final Class<?> type;
+        private final double[] values;
+
+        Doubles(Class<?> type, Collection<?> values) {
+            this.type = type;
+            this.values = new double[values.size()];
+
+            int i = 0;
+
+            for (Object value : values) {
+                this.values[i++] = ((Number) value).doubleValue();
+            }
+
+            Arrays.sort(this.values);
+        }
+
+        @Override
+        boolean contains(@Nullable Object value) {
+            return value != null && value.getClass() == type && Arrays.binarySearch(values, ((Number) value).doubleValue()) >= 0;
+        }
+
+        @Override
+        boolean containsDouble(double value) {
+            return type == Double.class && Arrays.binarySearch(values, value) >= 0;
+        }
+    }
+
+    /**
+     * Strings are kept in the table indexed by (hashCode * multiplier) >>> shift. For small sets multiplier is searched
+     * until there are no collisions, so lookup is a single probe; bigger sets (or sets with equal hash codes) use linear probing
+     */
+    @ToString
+    private static final class Strings extends FluentValidatorSet {
+        private final String[] table;
+        private final int multiplier;
+        private final int shift;
+        private final int mask;
+
+        private Strings(String[] table, int multiplier) {
+            this.table = table;
+            this.multiplier = multiplier;
+            this.shift = 32 - Integer.numberOfTrailingZeros(table.length);
+            this.mask = table.length - 1;
+        }
+
+        static Strings of(Collection<?> values) {
+            Set<String> unique = new HashSet<>((Collection<String>) values);
+
+            if (unique.size() <= PERFECT_HASH_MAX_SIZE) {
+                Strings perfect = findPerfect(unique);
+
+                if (perfect != null) {
+                    return perfect;
+                }
+            }
+
+            //load factor is at most 0.5
+            String[] table = new String[Math.max(2, Integer.highestOneBit(unique.size()) * 4)];
+            Strings answer = new Strings(table, 0x9E3779B9);
+
+            for (String value : unique) {
+                int index = answer.index(value);
+
+                while (table[index] != null) {
+                    index = (index + 1) & answer.mask;
+                }
+
+                table[index] = value;
+            }
+
+            return answer;
+        }
+
+        @Nullable
+        private static Strings findPerfect(Set<String> values) {
+            Random random = new Random(values.size());
+            int maxSize = Math.max(2, Integer.highestOneBit(values.size() * values.size()) * 2);
+
+            for (int size = Math.max(2, Integer.highestOneBit(values.size()) * 2); size <= maxSize; size *= 2) {
+                for (int attempt = 0; attempt < PERFECT_HASH_ATTEMPTS; attempt++) {
+                    Strings candidate = new Strings(new String[size], random.nextInt() | 1);
+
+                    if (candidate.fill(values)) {
+                        return candidate;
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        private boolean fill(Set<String> values) {
+            for (String value : values) {
+                int index = index(value);
+
+                if (table[index] != null) {
+                    return false;
+                }
+
+                table[index] = value;
+            }
+
+            return true;
+        }
+
+        private int index(String value) {
+            return (value.hashCode() * multiplier) >>> shift;
+        }
+
+        @Override
+        boolean contains(@Nullable Object value) {
+            if (!(value instanceof String)) {
+                return false;
+            }
+
+            String string = (String) value;
+
+            for (int index = index(string); table[index] != null; index = (index + 1) & mask) {
+                if (table[index].equals(string)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.thedocs.soyuz.validator;
+
+import io.thedocs.soyuz.err.Errors;
+import lombok.ToString;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Validates objects of the source spliterator and emits results of the invalid ones only, valid objects allocate nothing.
+ * Split parts share the limit of failures, so at most maxFailures results are emitted in total
+ * (the first ones for sequential stream, any of them for parallel one) and the source is not read after the limit is reached.
+ */
+@ToString(of = {"source", "remaining"})
+public class FluentValidatorSpliterator<T> implements Spliterator<Fv.Result<T>> {
+
+    private final Fv.Validator<T> validator;
+    private final Spliterator<T> source;
+    private final FluentValidatorContext context;
+    private final AtomicLong remaining;
+    private T current;
+
+    public FluentValidatorSpliterator(Fv.Validator<T> validator, Spliterator<T> source, long maxFailures, FluentValidatorContext context) {
+        this(validator, source, context, new AtomicLong(maxFailures));
+
+        if (maxFailures < 0) {
+            throw new IllegalArgumentException("maxFailures must not be negative: " + maxFailures);
+        }
+    }
+
+    private FluentValidatorSpliterator(Fv.Validator<T> validator, Spliterator<T> source, FluentValidatorContext context, AtomicLong remaining) {
+        this.validator = validator;
+        this.source = source;
+        this.context = context;
+        this.remaining = remaining;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Fv.Result<T>> action) {
+        while (remaining.get() > 0 && source.tryAdvance(this::setCurrent)) {
+            T rootObject = current;
+            Errors errors = validator.findErrors(rootObject, context);
+
+            current = null;
+
+            if (errors != null) {
+                if (remaining.getAndDecrement() <= 0) {
+                    return false;
+                }
+
+                action.accept(Fv.Result.failure(rootObject, errors));
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Spliterator<Fv.Result<T>> trySplit() {
+        Spliterator<T> prefix = source.trySplit();
+
+        return (prefix == null) ? null : new FluentValidatorSpliterator<>(validator, prefix, context, remaining);
+    }
+
+    /**
+     * @return size of the source, number of failures is not known in advance
+     */
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return (source.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT)) | NONNULL;
+    }
+
+    private void setCurrent(T current) {
+        this.current = current;
+    }
+}
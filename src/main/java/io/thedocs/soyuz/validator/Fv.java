@@ -6,11 +6,20 @@ import lombok.*;
 import org.apache.commons.beanutils.BeanUtilsBean;
 import org.apache.commons.beanutils.PropertyUtilsBean;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Created by fbelov on 28.04.16.
@@ -20,37 +29,238 @@ public interface Fv {
     //https://github.com/JeremySkinner/FluentValidation
 
     static <T> FluentValidatorBuilder<T> of(Class<T> clazz) {
-        return new FluentValidatorBuilder<>();
+        return new FluentValidatorBuilder<>(null, clazz);
     }
 
     static <T> FluentValidatorBuilder<T> of(String property, Class<T> clazz) {
-        return new FluentValidatorBuilder<>(property);
+        return new FluentValidatorBuilder<>(property, clazz);
     }
 
     interface Validator<T> {
         Fv.Result<T> validate(T rootObject);
+
+        /**
+         * @param failFast stop validation on the first invalid property (overrides validator's setting)
+         */
+        default Fv.Result<T> validate(T rootObject, boolean failFast) {
+            return validate(rootObject, FluentValidatorContext.of(failFast));
+        }
+
+        default Fv.Result<T> validate(T rootObject, FluentValidatorContext context) {
+            return validate(rootObject);
+        }
+
+        /**
+         * Fast check for routing / filtering: stops on the first invalid property and doesn't build any errors
+         */
+        default boolean isValid(T rootObject) {
+            return isValid(rootObject, FluentValidatorContext.FAIL_FAST);
+        }
+
+        default boolean isValid(T rootObject, FluentValidatorContext context) {
+            return findErrors(rootObject, context) == null;
+        }
+
+        /**
+         * @return errors of the object or null if it is valid. Unlike validate it doesn't create result for the valid object
+         */
+        @Nullable
+        default Errors findErrors(T rootObject, FluentValidatorContext context) {
+            Fv.Result<T> result = validate(rootObject, context);
+
+            return (result.hasErrors()) ? result.getErrors() : null;
+        }
+
+        /**
+         * Validates the object without waiting for async custom rules: async rules of all properties, nested validators
+         * and collection items are issued concurrently and their results are merged in the same order validate reports them
+         */
+        default CompletionStage<Fv.Result<T>> validateAsync(T rootObject) {
+            return CompletableFuture.completedFuture(validate(rootObject));
+        }
+
+        default CompletionStage<Fv.Result<T>> validateAsync(T rootObject, FluentValidatorContext context) {
+            return findErrorsAsync(rootObject, context).thenApply(errors -> (errors == null) ? Fv.Result.success(rootObject) : Fv.Result.failure(rootObject, errors));
+        }
+
+        /**
+         * @return stage with errors of the object or null if it is valid
+         */
+        default CompletionStage<Errors> findErrorsAsync(T rootObject, FluentValidatorContext context) {
+            return CompletableFuture.completedFuture(findErrors(rootObject, context));
+        }
+
+        /**
+         * Validates the changed object using the result of its previous version, so only properties which depend on the changed paths
+         * are checked again (see FluentValidatorImpl). Validates the whole object if it is not possible
+         *
+         * @param previous     result of the previous version of the object returned by this validator
+         * @param changedPaths changed properties (e.g. "title", "address.city", "wheels[1]")
+         */
+        default Fv.Result<T> revalidate(T newObject, Fv.Result<T> previous, Set<String> changedPaths) {
+            return validate(newObject);
+        }
+
+        /**
+         * Validates every object of the batch. Errors of every object are the same as validate(rootObject) returns
+         */
+        default Fv.BatchResult<T> validateAll(List<T> rootObjects) {
+            Errors[] errors = new Errors[rootObjects.size()];
+
+            for (int i = 0; i < errors.length; i++) {
+                Fv.Result<T> result = validate(rootObjects.get(i));
+
+                errors[i] = (result.hasErrors()) ? result.getErrors() : null;
+            }
+
+            return Fv.BatchResult.of(rootObjects, errors);
+        }
+
+        default Fv.BatchResult<T> validateAll(List<T> rootObjects, FluentValidatorContext context) {
+            Errors[] errors = new Errors[rootObjects.size()];
+
+            for (int i = 0; i < errors.length; i++) {
+                errors[i] = findErrors(rootObjects.get(i), context);
+            }
+
+            return Fv.BatchResult.of(rootObjects, errors);
+        }
+
+        /**
+         * @return lazy stream of failures (results of invalid objects only). Valid objects are not collected and allocate no results
+         */
+        default Stream<Fv.Result<T>> validateStream(Stream<T> rootObjects) {
+            return validateStream(rootObjects, Long.MAX_VALUE);
+        }
+
+        /**
+         * @param maxFailures source is not read any more after this number of failures
+         */
+        default Stream<Fv.Result<T>> validateStream(Stream<T> rootObjects, long maxFailures) {
+            return validateStream(rootObjects, maxFailures, FluentValidatorContext.DEFAULT);
+        }
+
+        default Stream<Fv.Result<T>> validateStream(Stream<T> rootObjects, long maxFailures, FluentValidatorContext context) {
+            return StreamSupport.stream(new FluentValidatorSpliterator<>(this, rootObjects.spliterator(), maxFailures, context), rootObjects.isParallel())
+                    .onClose(rootObjects::close);
+        }
+
+        default Stream<Fv.Result<T>> validateStream(Iterator<T> rootObjects) {
+            return validateStream(StreamSupport.stream(Spliterators.spliteratorUnknownSize(rootObjects, Spliterator.ORDERED), false));
+        }
+    }
+
+    /**
+     * Result of the batch validation. Errors are kept in the array indexed by row (null for valid rows),
+     * so valid rows cost a single reference
+     */
+    @EqualsAndHashCode
+    @ToString(of = {"invalidCount", "errors"})
+    class BatchResult<R> {
+        private final List<R> rootObjects;
+        private final Errors[] errors;
+        private final int invalidCount;
+
+        private BatchResult(List<R> rootObjects, Errors[] errors) {
+            int invalidCount = 0;
+
+            for (Errors rowErrors : errors) {
+                if (rowErrors != null) {
+                    invalidCount++;
+                }
+            }
+
+            this.rootObjects = rootObjects;
+            this.errors = errors;
+            this.invalidCount = invalidCount;
+        }
+
+        /**
+         * @param errors errors of the rows, null for valid rows
+         */
+        public static <R> BatchResult<R> of(List<R> rootObjects, Errors[] errors) {
+            if (rootObjects.size() != errors.length) {
+                throw new IllegalArgumentException("Expected " + rootObjects.size() + " rows of errors but got " + errors.length);
+            }
+
+            return new BatchResult<>(rootObjects, errors);
+        }
+
+        public int size() {
+            return errors.length;
+        }
+
+        public boolean isOk() {
+            return invalidCount == 0;
+        }
+
+        public boolean isOk(int row) {
+            return errors[row] == null;
+        }
+
+        public int getInvalidCount() {
+            return invalidCount;
+        }
+
+        /**
+         * @return indexes of the invalid rows in ascending order
+         */
+        public int[] getInvalidRows() {
+            int[] answer = new int[invalidCount];
+
+            for (int row = 0, i = 0; row < errors.length; row++) {
+                if (errors[row] != null) {
+                    answer[i++] = row;
+                }
+            }
+
+            return answer;
+        }
+
+        public List<R> getRootObjects() {
+            return rootObjects;
+        }
+
+        public Errors getErrors(int row) {
+            return (errors[row] == null) ? Errors.ok() : errors[row];
+        }
+
+        /**
+         * @return the same result as validate(rootObject) for the row
+         */
+        public Result<R> get(int row) {
+            return (errors[row] == null) ? Result.success(rootObjects.get(row)) : Result.failure(rootObjects.get(row), errors[row]);
+        }
     }
 
     /**
      * Created by fbelov on 07.06.16.
      */
-    @Getter
     @AllArgsConstructor(access = AccessLevel.PRIVATE)
     @EqualsAndHashCode
     @ToString
     class CustomResult {
+        private static final CustomResult SUCCESS = new CustomResult(null);
+
+        /**
+         * null for success
+         */
         private Errors errors;
 
         public boolean isOk() {
-            return errors.isOk();
+            return errors == null || errors.isOk();
         }
 
         public boolean hasErrors() {
-            return errors.hasErrors();
+            return errors != null && errors.hasErrors();
+        }
+
+        public Errors getErrors() {
+            return (errors == null) ? Errors.ok() : errors;
         }
 
         public static CustomResult success() {
-            return new CustomResult(Errors.ok());
+            return SUCCESS;
         }
 
         public static CustomResult failure(String code) {
@@ -74,25 +284,40 @@ public interface Fv {
         }
     }
 
-    @ToString
+    @ToString(exclude = {"validator", "entryErrorCounts"})
     @EqualsAndHashCode
     class Result<R> {
-        private static final Result SUCCESS = new Result(null, Errors.ok());
-
-        private R rootObject;
-        private Errors errors;
+        private static final Result SUCCESS = new Result(null, null);
+
+        private final R rootObject;
+        /**
+         * null for success, so valid objects don't allocate errors container
+         */
+        private final Errors errors;
+        /**
+         * FluentValidatorImpl which produced the result and number of errors of its every validation data (-1 if the data wasn't checked
+         * because of fail fast), used by revalidate. Not a part of equals
+         */
+        private final transient Object validator;
+        private final transient int[] entryErrorCounts;
 
         private Result(R rootObject, Errors errors) {
+            this(rootObject, errors, null, null);
+        }
+
+        private Result(R rootObject, Errors errors, Object validator, int[] entryErrorCounts) {
             this.rootObject = rootObject;
             this.errors = errors;
+            this.validator = validator;
+            this.entryErrorCounts = entryErrorCounts;
         }
 
         public boolean isOk() {
-            return errors.isOk();
+            return errors == null || errors.isOk();
         }
 
         public boolean hasErrors() {
-            return errors.hasErrors();
+            return errors != null && errors.hasErrors();
         }
 
         public R getRootObject() {
@@ -100,7 +325,7 @@ public interface Fv {
         }
 
         public Errors getErrors() {
-            return errors;
+            return (errors == null) ? Errors.ok() : errors;
         }
 
         public static Result success() {
@@ -108,7 +333,7 @@ public interface Fv {
         }
 
         public static <R> Result<R> success(R rootObject) {
-            return new Result<>(rootObject, Errors.ok());
+            return new Result<>(rootObject, null);
         }
 
         public static <R> Result<R> failure(R rootObject, Err error) {
@@ -119,6 +344,18 @@ public interface Fv {
             return new Result<>(rootObject, errors);
         }
 
+        static <R> Result<R> of(R rootObject, @Nullable Errors errors, Object validator, int[] entryErrorCounts) {
+            return new Result<>(rootObject, errors, validator, entryErrorCounts);
+        }
+
+        /**
+         * @return number of errors of every validation data or null if the result wasn't produced by validate of the validator
+         */
+        @Nullable
+        int[] getEntryErrorCounts(Object validator) {
+            return (this.validator == validator) ? entryErrorCounts : null;
+        }
+
         public void ifHasErrorsThrowAnException() {
             if (hasErrors()) {
                 throw new BeanValidationException(rootObject, errors);
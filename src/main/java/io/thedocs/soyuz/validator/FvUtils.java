@@ -23,6 +23,587 @@ class FvUtils {
         }
     }
 
+    /**
+     * Single pass string format checks
+     */
+    public static class strings {
+
+        private static final String ALPHA_DIGIT = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        private static final String UNRESERVED = ALPHA_DIGIT + "-._~";
+        private static final String SUB_DELIMS = "!$&'()*+,;=";
+
+        private static final boolean[] MAIL_LOCAL_CHARS = asciiTable(ALPHA_DIGIT + "_!#$%&'*+/=?`{|}~^-");
+        private static final boolean[] SCHEME_CHARS = asciiTable(ALPHA_DIGIT + "+-.");
+        private static final boolean[] REG_NAME_CHARS = asciiTable(UNRESERVED + SUB_DELIMS);
+        private static final boolean[] USERINFO_CHARS = asciiTable(UNRESERVED + SUB_DELIMS + ":");
+        private static final boolean[] PATH_CHARS = asciiTable(UNRESERVED + SUB_DELIMS + ":@/");
+        private static final boolean[] QUERY_CHARS = asciiTable(UNRESERVED + SUB_DELIMS + ":@/?");
+
+        /**
+         * Accepts the same language as ^[\w!#$%&'*+/=?`{|}~^-]+(?:\.[\w!#$%&'*+/=?`{|}~^-]+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,20}$
+         * without backtracking: dot separated local atoms, single '@', at least two dot separated domain labels
+         * and letters only top level label of 2-20 chars
+         */
+        public static boolean isEmail(String value) {
+            int length = value.length();
+            int i = 0;
+            int partStart = 0;
+
+            for (; ; i++) {
+                if (i == length) {
+                    return false;
+                }
+
+                char c = value.charAt(i);
+
+                if (c == '.' || c == '@') {
+                    if (i == partStart) {
+                        return false;
+                    } else if (c == '@') {
+                        break;
+                    }
+
+                    partStart = i + 1;
+                } else if (!isAscii(MAIL_LOCAL_CHARS, c)) {
+                    return false;
+                }
+            }
+
+            int labels = 0;
+            boolean letters = true;
+
+            partStart = ++i;
+
+            for (; i < length; i++) {
+                char c = value.charAt(i);
+
+                if (c == '.') {
+                    if (i == partStart) {
+                        return false;
+                    }
+
+                    labels++;
+                    letters = true;
+                    partStart = i + 1;
+                } else if ((c >= '0' && c <= '9') || c == '-') {
+                    letters = false;
+                } else if (!isAsciiLetter(c)) {
+                    return false;
+                }
+            }
+
+            int topLevelLength = length - partStart;
+
+            return labels > 0 && letters && topLevelLength >= 2 && topLevelLength <= 20;
+        }
+
+        /**
+         * RFC 3986 absolute URI syntax check: scheme ":" ["//" authority] path ["?" query] ["#" fragment].
+         * Scheme must be in the allowed schemes, all the other components are checked only syntactically
+         */
+        public static boolean isUrl(String value, Schemes schemes) {
+            int length = value.length();
+            int i = 0;
+
+            for (; i < length && value.charAt(i) != ':'; i++) {
+                char c = value.charAt(i);
+
+                if ((i == 0) ? !isAsciiLetter(c) : !isAscii(SCHEME_CHARS, c)) {
+                    return false;
+                }
+            }
+
+            if (i == 0 || i == length || !schemes.contains(value, i)) {
+                return false;
+            }
+
+            i++;
+
+            if (value.startsWith("//", i)) {
+                i = skipAuthority(value, i + 2, length);
+
+                if (i < 0) {
+                    return false;
+                }
+            }
+
+            i = skip(value, i, length, PATH_CHARS);
+
+            if (i < length && value.charAt(i) == '?') {
+                i = skip(value, i + 1, length, QUERY_CHARS);
+            }
+
+            if (i < length && value.charAt(i) == '#') {
+                i = skip(value, i + 1, length, QUERY_CHARS);
+            }
+
+            return i == length;
+        }
+
+        /**
+         * @return index after [userinfo "@"] host [":" port] or -1 if authority is invalid
+         */
+        private static int skipAuthority(String value, int i, int length) {
+            int end = i;
+            int at = -1;
+
+            for (; end < length; end++) {
+                char c = value.charAt(end);
+
+                if (c == '/' || c == '?' || c == '#') {
+                    break;
+                } else if (c == '@' && at < 0) {
+                    at = end;
+                }
+            }
+
+            if (at >= 0) {
+                if (skip(value, i, at, USERINFO_CHARS) != at) {
+                    return -1;
+                }
+
+                i = at + 1;
+            }
+
+            if (i < end && value.charAt(i) == '[') {
+                int close = value.indexOf(']', i);
+
+                if (close < 0 || close >= end || !isIpLiteral(value, i + 1, close)) {
+                    return -1;
+                }
+
+                i = close + 1;
+            } else {
+                i = skip(value, i, end, REG_NAME_CHARS);
+            }
+
+            if (i < end && value.charAt(i) == ':') {
+                i++;
+
+                while (i < end && isDigit(value.charAt(i))) {
+                    i++;
+                }
+            }
+
+            return (i == end) ? end : -1;
+        }
+
+        private static boolean isIpLiteral(String value, int i, int end) {
+            if (i < end && (value.charAt(i) == 'v' || value.charAt(i) == 'V')) {
+                int start = ++i;
+
+                while (i < end && isHexDigit(value.charAt(i))) {
+                    i++;
+                }
+
+                if (i == start || i == end || value.charAt(i) != '.' || i + 1 == end) {
+                    return false;
+                }
+
+                for (i++; i < end; i++) {
+                    if (!isAscii(USERINFO_CHARS, value.charAt(i))) {
+                        return false;
+                    }
+                }
+
+                return true;
+            } else {
+                return isIpv6(value, i, end);
+            }
+        }
+
+        private static boolean isIpv6(String value, int i, int end) {
+            int groups = 0;
+            boolean compressed = false;
+
+            if (value.startsWith("::", i)) {
+                compressed = true;
+                i += 2;
+            }
+
+            while (i < end) {
+                int start = i;
+
+                while (i < end && i - start < 5 && isHexDigit(value.charAt(i))) {
+                    i++;
+                }
+
+                if (i < end && value.charAt(i) == '.') {
+                    if (!isIpv4(value, start, end)) {
+                        return false;
+                    }
+
+                    groups += 2;
+                    break;
+                }
+
+                int digits = i - start;
+
+                if (digits == 0 || digits > 4) {
+                    return false;
+                }
+
+                groups++;
+
+                if (i == end) {
+                    break;
+                } else if (value.charAt(i) != ':' || ++i == end) {
+                    return false;
+                } else if (value.charAt(i) == ':') {
+                    if (compressed) {
+                        return false;
+                    }
+
+                    compressed = true;
+                    i++;
+                }
+            }
+
+            return (compressed) ? groups <= 7 : groups == 8;
+        }
+
+        private static boolean isIpv4(String value, int i, int end) {
+            int octets = 0;
+
+            while (true) {
+                int start = i;
+                int octet = 0;
+
+                while (i < end && i - start < 3 && isDigit(value.charAt(i))) {
+                    octet = octet * 10 + (value.charAt(i++) - '0');
+                }
+
+                int digits = i - start;
+
+                if (digits == 0 || octet > 255 || (digits > 1 && value.charAt(start) == '0')) {
+                    return false;
+                }
+
+                octets++;
+
+                if (i == end) {
+                    return octets == 4;
+                } else if (value.charAt(i) != '.' || octets == 4) {
+                    return false;
+                }
+
+                i++;
+            }
+        }
+
+        /**
+         * @return index of the first char which is neither in the table nor part of a valid %XX escape
+         */
+        private static int skip(String value, int i, int end, boolean[] table) {
+            while (i < end) {
+                char c = value.charAt(i);
+
+                if (isAscii(table, c)) {
+                    i++;
+                } else if (c == '%' && i + 2 < end && isHexDigit(value.charAt(i + 1)) && isHexDigit(value.charAt(i + 2))) {
+                    i += 3;
+                } else {
+                    break;
+                }
+            }
+
+            return i;
+        }
+
+        static boolean[] asciiTable(String chars) {
+            boolean[] answer = new boolean[128];
+
+            for (int i = 0; i < chars.length(); i++) {
+                answer[chars.charAt(i)] = true;
+            }
+
+            return answer;
+        }
+
+        static boolean isAscii(boolean[] table, char c) {
+            return c < 128 && table[c];
+        }
+
+        static boolean isAsciiLetter(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+
+        static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        static boolean isHexDigit(char c) {
+            return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+        }
+
+        static char toLowerAscii(char c) {
+            return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+        }
+
+        /**
+         * Case insensitive set of url schemes. Schemes are stored in the open addressing table,
+         * so lookup of the value prefix doesn't need a substring
+         */
+        public static class Schemes {
+
+            public static final Schemes DEFAULT = new Schemes(Arrays.asList("http", "https", "ftp", "file", "jar", "mailto"));
+
+            private final String[] table;
+            private final int mask;
+
+            public Schemes(Collection<String> schemes) {
+                int size = Integer.highestOneBit(Math.max(schemes.size(), 1) * 2) * 2;
+
+                this.table = new String[size];
+                this.mask = size - 1;
+
+                for (String scheme : schemes) {
+                    String lowerCase = scheme.toLowerCase(Locale.ROOT);
+                    int index = hash(lowerCase, lowerCase.length()) & mask;
+
+                    while (table[index] != null && !table[index].equals(lowerCase)) {
+                        index = (index + 1) & mask;
+                    }
+
+                    table[index] = lowerCase;
+                }
+            }
+
+            /**
+             * @return true if value.substring(0, end) is one of the schemes
+             */
+            public boolean contains(String value, int end) {
+                for (int index = hash(value, end) & mask; table[index] != null; index = (index + 1) & mask) {
+                    String scheme = table[index];
+
+                    if (scheme.length() == end && value.regionMatches(true, 0, scheme, 0, end)) {
+                        return true;
+                    }
+                }
+
+                return false;
+            }
+
+            private static int hash(String value, int end) {
+                int h = 0;
+
+                for (int i = 0; i < end; i++) {
+                    h = 31 * h + toLowerAscii(value.charAt(i));
+                }
+
+                return h ^ (h >>> 16);
+            }
+        }
+    }
+
+    /**
+     * Allocation and exception free checks with the same accept / reject semantics as Byte / Short / Integer / Long.valueOf
+     * and Float / Double.valueOf
+     */
+    public static class numbers {
+
+        public static boolean isByte(String value) {
+            return isIntegral(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
+
+        public static boolean isShort(String value) {
+            return isIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+
+        public static boolean isInteger(String value) {
+            return isIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        public static boolean isLong(String value) {
+            return isIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        /**
+         * Float and Double share the grammar (Float.valueOf overflows to infinity instead of failing)
+         */
+        public static boolean isFloat(String value) {
+            return isFloatingPoint(value);
+        }
+
+        public static boolean isDouble(String value) {
+            return isFloatingPoint(value);
+        }
+
+        /**
+         * Same algorithm as Long.parseLong: value is accumulated negatively, so MIN_VALUE doesn't overflow
+         */
+        private static boolean isIntegral(String value, long min, long max) {
+            int length = value.length();
+            int i = 0;
+            boolean negative = false;
+
+            if (length == 0) {
+                return false;
+            }
+
+            char first = value.charAt(0);
+
+            if (first < '0') {
+                if (first == '-') {
+                    negative = true;
+                } else if (first != '+') {
+                    return false;
+                }
+
+                if (length == 1) {
+                    return false;
+                }
+
+                i++;
+            }
+
+            long limit = (negative) ? min : -max;
+            long multmin = limit / 10;
+            long result = 0;
+
+            while (i < length) {
+                int digit = Character.digit(value.charAt(i++), 10);
+
+                if (digit < 0 || result < multmin) {
+                    return false;
+                }
+
+                result *= 10;
+
+                if (result < limit + digit) {
+                    return false;
+                }
+
+                result -= digit;
+            }
+
+            return true;
+        }
+
+        /**
+         * Grammar of Double.valueOf: trimmed [sign] (NaN | Infinity | hex significand with binary exponent | decimal)
+         * with optional f / F / d / D suffix for numbers
+         */
+        private static boolean isFloatingPoint(String value) {
+            int start = 0;
+            int end = value.length();
+
+            while (start < end && value.charAt(start) <= ' ') {
+                start++;
+            }
+
+            while (end > start && value.charAt(end - 1) <= ' ') {
+                end--;
+            }
+
+            if (start == end) {
+                return false;
+            }
+
+            int i = start;
+            char c = value.charAt(i);
+
+            if (c == '+' || c == '-') {
+                if (++i == end) {
+                    return false;
+                }
+
+                c = value.charAt(i);
+            }
+
+            if (c == 'N') {
+                return value.regionMatches(i, "NaN", 0, 3) && end - i == 3;
+            } else if (c == 'I') {
+                return value.regionMatches(i, "Infinity", 0, 8) && end - i == 8;
+            } else if (c == '0' && i + 1 < end && (value.charAt(i + 1) == 'x' || value.charAt(i + 1) == 'X')) {
+                return isHexFloatingPoint(value, i + 2, end);
+            }
+
+            boolean digits = false;
+            boolean point = false;
+
+            for (; i < end; i++) {
+                c = value.charAt(i);
+
+                if (c >= '0' && c <= '9') {
+                    digits = true;
+                } else if (c == '.' && !point) {
+                    point = true;
+                } else {
+                    break;
+                }
+            }
+
+            if (!digits) {
+                return false;
+            }
+
+            if (i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+                i = skipExponent(value, i + 1, end);
+
+                if (i < 0) {
+                    return false;
+                }
+            }
+
+            return isEndOrSuffix(value, i, end);
+        }
+
+        private static boolean isHexFloatingPoint(String value, int i, int end) {
+            boolean digits = false;
+            boolean point = false;
+
+            for (; i < end; i++) {
+                char c = value.charAt(i);
+
+                if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')) {
+                    digits = true;
+                } else if (c == '.' && !point) {
+                    point = true;
+                } else {
+                    break;
+                }
+            }
+
+            if (!digits || i == end || (value.charAt(i) != 'p' && value.charAt(i) != 'P')) {
+                return false;
+            }
+
+            i = skipExponent(value, i + 1, end);
+
+            return i >= 0 && isEndOrSuffix(value, i, end);
+        }
+
+        /**
+         * @return index after exponent digits or -1 if exponent is invalid
+         */
+        private static int skipExponent(String value, int i, int end) {
+            if (i < end && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+
+            int digitsStart = i;
+
+            while (i < end && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                i++;
+            }
+
+            return (i == digitsStart) ? -1 : i;
+        }
+
+        private static boolean isEndOrSuffix(String value, int i, int end) {
+            if (i == end) {
+                return true;
+            } else if (i == end - 1) {
+                char c = value.charAt(i);
+
+                return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+            } else {
+                return false;
+            }
+        }
+    }
+
     public static Number addNumbers(Number a, Number b) {
         if(a instanceof Double || b instanceof Double) {
             return new Double(a.doubleValue() + b.doubleValue());
@@ -0,0 +1,249 @@
+package io.thedocs.soyuz.validator
+
+import io.thedocs.soyuz.err.Err
+import io.thedocs.soyuz.err.Errors
+import spock.lang.Requires
+import spock.lang.Specification
+
+import javax.tools.ToolProvider
+import java.nio.file.Files
+
+class AccessorFluentValidatorSpec extends Specification {
+
+    def "should compile getters for known properties"() {
+        expect:
+        assert FluentValidatorAccessor.of(Car, "title") instanceof FluentValidatorAccessor.Getter
+        assert FluentValidatorAccessor.of(Car, "power") instanceof FluentValidatorAccessor.Getter
+        assert FluentValidatorAccessor.of(Car, "engine.title") instanceof FluentValidatorAccessor.Chain
+        assert FluentValidatorAccessor.of(Car, "engine.title").type == String
+        assert FluentValidatorAccessor.of(Car, null) instanceof FluentValidatorAccessor.Self
+    }
+
+    def "should fallback to bean utils for unknown properties"() {
+        expect:
+        assert FluentValidatorAccessor.of(Car, "wheels[0]") instanceof FluentValidatorAccessor.Dynamic
+        assert FluentValidatorAccessor.of(Car, "unknown") instanceof FluentValidatorAccessor.Polymorphic
+    }
+
+    def "should read nested properties"() {
+        when:
+        def validator = Fv.of(Car)
+                .string("title").notEmpty().b()
+                .primitiveInt("power").greaterThan(0).b()
+                .string("engine.title").notEmpty().b()
+                .string("wheels[1]").notEmpty().b()
+                .build()
+
+        then:
+        assert validator.validate(car) == result(car)
+
+        where:
+        car                                                                                             | result
+        new Car(title: "Lada", power: 90, engine: new CarEngine(title: "v8"), wheels: ["a", "b"])       | { c -> Fv.Result.success(c) }
+        new Car(title: "", power: 0, engine: new CarEngine(title: ""), wheels: ["a", ""])               | { c ->
+            Fv.Result.failure(
+                    c,
+                    Errors.reject(
+                            Err.field("title").code("notEmpty").value("").build(),
+                            Err.field("power").code("greaterThan").value(0).params(["criterion": 0]).build(),
+                            Err.field("engine.title").code("notEmpty").value("").build(),
+                            Err.field("wheels[1]").code("notEmpty").value("").build()
+                    )
+            )
+        }
+    }
+
+    def "should read properties of the objects with another class"() {
+        when:
+        def validator = Fv.of(Car).string("title").notEmpty().b().build()
+        def object = new Truck(title: "")
+
+        then:
+        assert validator.validate(object) == Fv.Result.failure(object, Err.field("title").code("notEmpty").value("").build())
+    }
+
+    def "should fail on null nested property"() {
+        when:
+        Fv.of(Car).string("engine.title").notEmpty().b().build().validate(new Car())
+
+        then:
+        thrown(RuntimeException)
+    }
+
+    def "should fetch shared nested object once"() {
+        setup:
+        def company = new Company(address: new Address(city: "", location: "Street"))
+        def validator = Fv.of(Company)
+                .object("address").notNull().b()
+                .string("address.city").notEmpty().b()
+                .string("address.location").notEmpty().b()
+                .build()
+
+        when:
+        def result = validator.validate(company)
+
+        then:
+        assert result == Fv.Result.failure(company, Err.field("address.city").code("notEmpty").value("").build())
+        assert company.addressCalls == 1
+    }
+
+    def "should resolve properties declared in subclasses against runtime class"() {
+        setup:
+        def validator = Fv.of(Vehicle).string("title").notEmpty().b().build()
+        def vehicles = [new Car(title: ""), new Truck(title: ""), new Car(title: "Lada"), [title: ""]]
+
+        expect:
+        assert FluentValidatorAccessor.of(Vehicle, "title") instanceof FluentValidatorAccessor.Polymorphic
+        assert vehicles.collect { validator.validate(it).isOk() } == [false, false, true, false]
+        assert FluentValidatorAccessor.exact(Car, "title") instanceof FluentValidatorAccessor.Getter
+        assert FluentValidatorAccessor.exact(Vehicle, "title") instanceof FluentValidatorAccessor.Dynamic
+    }
+
+    def "should read maps with Map.get"() {
+        setup:
+        def keys = new FluentValidatorAccessor.KeyTable()
+        def validator = Fv.of(Map)
+                .keys(keys)
+                .string("title").notEmpty().b()
+                .string("engine.title").notEmpty().b()
+                .primitiveInt("engine.power").greaterThan(0).b()
+                .build()
+        def car = [title: "Lada", engine: [title: "", power: 0]]
+
+        expect:
+        assert FluentValidatorAccessor.of(Map, "engine.title") instanceof FluentValidatorAccessor.Chain
+        assert FluentValidatorAccessor.of(null, "title") instanceof FluentValidatorAccessor.MapEntry
+        assert keys.canonical(new String("power")).is(keys.canonical("power"))
+        assert validator.validate(car) == Fv.Result.failure(car, Errors.reject(
+                Err.field("engine.title").code("notEmpty").value("").build(),
+                Err.field("engine.power").code("greaterThan").value(0).params(["criterion": 0]).build()
+        ))
+    }
+
+    def "should read public fields of getter-less objects"() {
+        setup:
+        def validator = Fv.of(Message)
+                .string("title").notEmpty().b()
+                .primitiveInt("size").greaterThan(0).b()
+                .build()
+        def message = new Message("", 0)
+
+        expect:
+        assert FluentValidatorAccessor.of(Message, "title") instanceof FluentValidatorAccessor.Getter
+        assert FluentValidatorAccessor.of(Message, "size").type == int
+        assert validator.validate(message) == Fv.Result.failure(message, Errors.reject(
+                Err.field("title").code("notEmpty").value("").build(),
+                Err.field("size").code("greaterThan").value(0).params(["criterion": 0]).build()
+        ))
+    }
+
+    @Requires({ Class.methods.any { it.name == "isRecord" } && ToolProvider.systemJavaCompiler != null })
+    def "should read records with their accessors"() {
+        setup:
+        def record = compile("Track", "public record Track(String title, int size) {}")
+        def validator = Fv.of(record)
+                .string("title").notEmpty().b()
+                .primitiveInt("size").greaterThan(0).b()
+                .build()
+        def track = record.getConstructor(String, int).newInstance("", 0)
+
+        expect:
+        assert FluentValidatorAccessor.AccessStrategy.of(record) == FluentValidatorAccessor.AccessStrategy.RECORD
+        assert FluentValidatorAccessor.findMember(record, "title") == record.getMethod("title")
+        assert FluentValidatorAccessor.of(record, "title") instanceof FluentValidatorAccessor.Getter
+        assert FluentValidatorAccessor.of(record, "size").type == int
+        assert validator.validate(record.getConstructor(String, int).newInstance("Intro", 3)).isOk()
+        assert validator.validate(track) == Fv.Result.failure(track, Errors.reject(
+                Err.field("title").code("notEmpty").value("").build(),
+                Err.field("size").code("greaterThan").value(0).params(["criterion": 0]).build()
+        ))
+    }
+
+    /**
+     * Tests are compiled for java 8, so records are compiled when the spec runs
+     */
+    private static Class<?> compile(String name, String source) {
+        def directory = Files.createTempDirectory("records").toFile()
+        def file = new File(directory, name + ".java")
+
+        file.text = source
+        assert ToolProvider.systemJavaCompiler.run(null, null, null, file.path) == 0
+
+        return new URLClassLoader([directory.toURI().toURL()] as URL[], AccessorFluentValidatorSpec.classLoader).loadClass(name)
+    }
+
+    static class Message {
+        public final String title
+        public final int size
+
+        Message(String title, int size) {
+            this.title = title
+            this.size = size
+        }
+    }
+
+    static class Company {
+        private Address address
+        private int addressCalls
+
+        Address getAddress() {
+            addressCalls++
+            return address
+        }
+    }
+
+    static class Address {
+        private String city
+        private String location
+
+        String getCity() {
+            return city
+        }
+
+        String getLocation() {
+            return location
+        }
+    }
+
+    static class Vehicle {
+    }
+
+    static class Car extends Vehicle {
+        private String title
+        private int power
+        private CarEngine engine
+        private List<String> wheels
+
+        String getTitle() {
+            return title
+        }
+
+        int getPower() {
+            return power
+        }
+
+        CarEngine getEngine() {
+            return engine
+        }
+
+        List<String> getWheels() {
+            return wheels
+        }
+    }
+
+    static class CarEngine {
+        private String title
+
+        String getTitle() {
+            return title
+        }
+    }
+
+    static class Truck extends Vehicle {
+        private String title
+
+        String getTitle() {
+            return title
+        }
+    }
+}
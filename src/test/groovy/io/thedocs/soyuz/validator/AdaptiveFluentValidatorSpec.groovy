@@ -0,0 +1,107 @@
+package io.thedocs.soyuz.validator
+
+import spock.lang.Specification
+
+import java.util.regex.Pattern
+
+class AdaptiveFluentValidatorSpec extends Specification {
+
+    def "should report the same errors as declaration order"() {
+        setup:
+        def random = new Random(7)
+        def declared = builder().build()
+        def adaptive = builder().adaptive(FluentValidatorAdaptive.Settings.deterministic(1, 4)).build()
+        def adaptiveCompiled = builder().adaptive(FluentValidatorAdaptive.Settings.deterministic(3, 2)).buildCompiled()
+        def cars = (0..<2000).collect {
+            new Car(title: [null, "", "a", "ab1", "Lada", "x" * 12][random.nextInt(6)], power: random.nextInt(400) - 50)
+        }
+
+        expect:
+        cars.each { car ->
+            def expected = declared.validate(car)
+
+            assert adaptive.validate(car) == expected
+            assert adaptiveCompiled.validate(car) == expected
+            assert adaptive.isValid(car) == expected.isOk()
+            assert adaptiveCompiled.isValid(car) == expected.isOk()
+        }
+    }
+
+    def "should check often failing rules first"() {
+        setup:
+        def calls = 0
+        def validator = Fv.of(Car)
+                .string("title")
+                .custom({ car, title -> calls++; Fv.CustomResult.success() } as FluentValidatorObjects.CustomValidator.Simple)
+                .matches(Pattern.compile("[a-z]*"))
+                .notEmpty()
+                .b()
+                .adaptive(FluentValidatorAdaptive.Settings.deterministic(10, 1))
+                .build()
+        def empty = new Car(title: "")
+
+        when:
+        10.times { validator.isValid(empty) }
+
+        then:
+        assert validator.@data[0].plan == [2, 0, 1] as int[]
+
+        when:
+        calls = 0
+        100.times { assert !validator.isValid(empty) }
+
+        then:
+        assert calls == 10
+        assert validator.validate(empty).errors.errors*.code == ["notEmpty"]
+    }
+
+    def "should keep rules declared before custom rules in front of them"() {
+        setup:
+        def validator = Fv.of(Car)
+                .string("title")
+                .notNull()
+                .custom({ car, title -> title.length() > 1 ? Fv.CustomResult.success() : Fv.CustomResult.failure("short") } as FluentValidatorObjects.CustomValidator.Simple)
+                .b()
+                .adaptive(FluentValidatorAdaptive.Settings.deterministic(1, 1))
+                .build()
+
+        expect:
+        (0..<100).each { assert !validator.isValid(new Car(title: (it % 2 == 0) ? null : "a")) }
+        assert validator.@data[0].plan == [0, 1] as int[]
+    }
+
+    def "frozen mode should keep declaration order"() {
+        setup:
+        def validator = builder().adaptive(FluentValidatorAdaptive.Settings.frozen()).build()
+
+        when:
+        100.times { validator.isValid(new Car(title: "", power: 0)) }
+
+        then:
+        assert validator.@data[0].plan == [0, 1, 2] as int[]
+    }
+
+    def "should keep primitive properties unboxed"() {
+        setup:
+        def adaptive = builder().adaptive().build()
+        def adaptiveCompiled = builder().adaptive().buildCompiled()
+
+        expect:
+        assert adaptive.@data[0] instanceof FluentValidatorAdaptive
+        assert adaptive.@data[1] instanceof FluentValidatorObjects.PrimitiveData
+        assert adaptive.@primitiveGetters[1] != null
+        assert adaptiveCompiled.@data[1] instanceof FluentValidatorObjects.CompiledData
+        assert adaptiveCompiled.@primitiveGetters[1] != null
+    }
+
+    private static FluentValidatorBuilder<Car> builder() {
+        return Fv.of(Car)
+                .string("title").notNull().matches(Pattern.compile("[a-z]+")).lessOrEqual(10).notEmpty().b()
+                .primitiveInt("power").greaterThan(0).lessThan(300).b()
+    }
+
+    static class Car {
+        String title
+        int power
+    }
+}
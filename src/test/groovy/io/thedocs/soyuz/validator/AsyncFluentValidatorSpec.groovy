@@ -0,0 +1,87 @@
+package io.thedocs.soyuz.validator
+
+import io.thedocs.soyuz.err.Err
+import io.thedocs.soyuz.err.Errors
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class AsyncFluentValidatorSpec extends Specification {
+
+    def "async rules of properties, nested validators and items should be issued concurrently"() {
+        setup:
+        def pending = [:]
+        def lookup = { name -> { o, v -> def f = new CompletableFuture(); pending[name + ":" + v] = f; f } as FluentValidatorObjects.CustomValidator.Async }
+        def employeeValidator = Fv.of(Employee).string("email").notEmpty().customAsync(lookup("email")).b().build()
+        def validator = Fv.of(Company)
+                .string("name").customAsync(lookup("name")).lessOrEqual(5).b()
+                .string("inn").notEmpty().customAsync(lookup("inn")).b()
+                .object("director", Employee).validator(employeeValidator).b()
+                .collection("employees", Employee).itemValidator(employeeValidator).b()
+                .build()
+        def company = new Company(name: "Horns and hoofs", inn: "", director: new Employee(email: "d@a.com"),
+                employees: [new Employee(email: "a@a.com"), new Employee(email: "b@a.com")])
+
+        when:
+        def result = validator.validateAsync(company).toCompletableFuture()
+
+        then:
+        assert pending.keySet() == ["name:Horns and hoofs", "email:d@a.com", "email:a@a.com", "email:b@a.com"] as Set
+        assert !result.isDone()
+
+        when:
+        pending["email:b@a.com"].complete(Fv.CustomResult.failure("taken"))
+        pending["email:a@a.com"].complete(Fv.CustomResult.success())
+        pending["email:d@a.com"].complete(Fv.CustomResult.failure("taken"))
+        pending["name:Horns and hoofs"].complete(Fv.CustomResult.success())
+
+        then:
+        assert result.isDone()
+        assert result.get() == Fv.Result.failure(company, Errors.reject(
+                Err.field("name").code("lessOrEqual").value("Horns and hoofs").params(["criterion": 5]).build(),
+                Err.field("inn").code("notEmpty").value("").build(),
+                Err.field("director.email").code("taken").value("d@a.com").build(),
+                Err.field("employees[1].email").code("taken").value("b@a.com").build()
+        ))
+    }
+
+    def "validateAsync should return the same result as validate"() {
+        setup:
+        def unique = { o, v -> CompletableFuture.supplyAsync { (v == "Lada") ? Fv.CustomResult.failure("notUnique") : Fv.CustomResult.success() } } as FluentValidatorObjects.CustomValidator.Async
+        def validator = Fv.of(Company)
+                .string("name").notEmpty().customAsync(unique).lessOrEqual(5).b()
+                .string("inn").customAsync(unique).b()
+                .failFast(failFast)
+                .build()
+
+        expect:
+        [new Company(name: "Lada", inn: "1"), new Company(name: "", inn: "Lada"), new Company(name: "Horns and hoofs", inn: "Lada"),
+         new Company(name: "Ok", inn: "1")].each { company ->
+            assert validator.validateAsync(company).toCompletableFuture().get() == validator.validate(company)
+            assert validator.isValid(company) == validator.validate(company).isOk()
+        }
+
+        where:
+        failFast << [false, true]
+    }
+
+    def "validateAsync without async rules should complete immediately"() {
+        setup:
+        def company = new Company(name: "")
+        def validator = Fv.of(Company).string("name").notEmpty().b().buildCompiled()
+
+        expect:
+        assert validator.validateAsync(company).toCompletableFuture().getNow(null) == Fv.Result.failure(company, Err.field("name").code("notEmpty").value("").build())
+    }
+
+    static class Company {
+        String name
+        String inn
+        Employee director
+        List<Employee> employees
+    }
+
+    static class Employee {
+        String email
+    }
+}
@@ -0,0 +1,72 @@
+package io.thedocs.soyuz.validator
+
+import io.thedocs.soyuz.err.Err
+import io.thedocs.soyuz.err.Errors
+import spock.lang.Specification
+
+import java.util.function.BiFunction
+
+class BatchFluentValidatorSpec extends Specification {
+
+    def "validateAll should return the same errors as validate for every row"() {
+        setup:
+        def random = new Random(3)
+        def rows = (0..<3000).collect {
+            new Payment(
+                    currency: ["USD", "EUR", "", null][random.nextInt(4)],
+                    amount: random.nextInt(200) - 20,
+                    payer: new Payer(name: ["Fedor", ""][random.nextInt(2)], account: ["1234", "12"][random.nextInt(2)])
+            )
+        }
+
+        expect:
+        [rows, new LinkedList(rows)].each { batch ->
+            [false, true].each { failFast ->
+                def validator = builder().failFast(failFast).build()
+                def compiled = builder().failFast(failFast).buildCompiled()
+                def result = validator.validateAll(batch)
+
+                assert result.size() == batch.size()
+                assert compiled.validateAll(batch) == result
+                assert (0..<batch.size()).every { result.get(it) == validator.validate(batch[it]) }
+                assert result.invalidRows.toList() == (0..<batch.size()).findAll { !validator.isValid(batch[it]) }
+            }
+        }
+    }
+
+    def "batch result"() {
+        setup:
+        def rows = [new Payment(currency: "USD", amount: 1), new Payment(currency: "", amount: 1)]
+
+        when:
+        def result = Fv.of(Payment).string("currency").notEmpty().b().build().validateAll(rows)
+
+        then:
+        assert !result.isOk()
+        assert result.isOk(0)
+        assert result.invalidCount == 1
+        assert result.getErrors(0) == Errors.ok()
+        assert result.getErrors(1) == Errors.reject(Err.field("currency").code("notEmpty").value("").build())
+        assert Fv.of(Payment).build().validateAll([]).isOk()
+    }
+
+    private static FluentValidatorBuilder<Payment> builder() {
+        return Fv.of(Payment)
+                .string("currency").notEmpty().lessOrEqual(3).b()
+                .primitiveInt("amount").greaterThan(0).lessOrEqual(150).b()
+                .object("payer").notNull().b()
+                .string("payer.name").notEmpty().b()
+                .string("payer.account").when({ p, a -> p.amount > 100 } as BiFunction).greaterOrEqual(4).b()
+    }
+
+    static class Payment {
+        String currency
+        int amount
+        Payer payer
+    }
+
+    static class Payer {
+        String name
+        String account
+    }
+}
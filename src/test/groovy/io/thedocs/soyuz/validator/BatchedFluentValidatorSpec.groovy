@@ -0,0 +1,91 @@
+package io.thedocs.soyuz.validator
+
+import io.thedocs.soyuz.err.Err
+import io.thedocs.soyuz.err.Errors
+import spock.lang.Specification
+
+import java.time.Clock
+import java.util.function.BiFunction
+import java.util.stream.Collectors
+
+class BatchedFluentValidatorSpec extends Specification {
+
+    def calls = []
+    def taken = ["taken@a.com", "boss@a.com"] as Set
+    def lookup = { Set emails -> calls << new HashSet(emails); emails.collectEntries { [(it): !taken.contains(it)] } } as FluentValidatorObjects.CustomValidator.Batched
+    def email = { o, v -> v } as BiFunction
+
+    def "keys of all items should be looked up with a single call"() {
+        setup:
+        def employeeValidator = Fv.of(Employee).string("email").notEmpty().customBatched(email, lookup, "taken").b().build()
+        def validator = Fv.of(Company)
+                .object("director", Employee).validator(employeeValidator).b()
+                .collection("employees", Employee).itemValidator(employeeValidator).b()
+                .build()
+        def company = new Company(director: new Employee(email: "boss@a.com"),
+                employees: (0..<5000).collect { new Employee(email: (it == 42) ? "taken@a.com" : (it == 7) ? "" : "e" + it + "@a.com") })
+
+        when:
+        def result = validator.validate(company)
+
+        then:
+        assert calls.size() == 1
+        assert calls[0].size() == 5000
+        assert result == Fv.Result.failure(company, Errors.reject(
+                Err.field("director.email").code("taken").value("boss@a.com").build(),
+                Err.field("employees[7].email").code("notEmpty").value("").build(),
+                Err.field("employees[42].email").code("taken").value("taken@a.com").build()
+        ))
+        assert !validator.isValid(company)
+        assert calls.size() == 2
+    }
+
+    def "keys of all rows of validateAll should be looked up with a single call"() {
+        setup:
+        def validator = Fv.of(Employee).string("email").customBatched(email, lookup, "taken").lessOrEqual(12).b().build()
+        def rows = ["a@a.com", "taken@a.com", null, "long-long@a.com", "a@a.com"].collect { new Employee(email: it) }
+
+        when:
+        def result = validator.validateAll(rows)
+
+        then:
+        assert calls == [["a@a.com", "taken@a.com", "long-long@a.com"] as Set]
+        assert result.invalidRows.toList() == [1, 3]
+        assert (0..<rows.size()).every { result.get(it) == Fv.of(Employee).string("email").customBatched(email, lookup, "taken").lessOrEqual(12).b().build().validate(rows[it], false) }
+    }
+
+    def "context of the stream should not keep keys of validated rows"() {
+        setup:
+        def validator = Fv.of(Employee).string("email").customBatched(email, lookup, "taken").b().build()
+        def context = FluentValidatorContext.of(false, Clock.systemUTC())
+        def rows = (0..<1000).collect { new Employee(email: (it == 500) ? "taken@a.com" : "e" + it + "@a.com") }
+
+        when:
+        def failures = validator.validateStream(rows.stream(), Long.MAX_VALUE, context).collect(Collectors.toList())
+
+        then:
+        assert failures == [Fv.Result.failure(rows[500], Err.field("email").code("taken").value("taken@a.com").build())]
+        assert calls.size() == 1000
+        assert context.@loaded == null
+        assert context.@pending == null
+    }
+
+    def "shared context should look up keys at once"() {
+        setup:
+        def validator = Fv.of(Employee).string("email").customBatched(email, lookup, "taken").b().build()
+
+        expect:
+        assert !validator.validate(new Employee(email: "taken@a.com"), FluentValidatorContext.DEFAULT).isOk()
+        assert validator.validateAsync(new Employee(email: "b@a.com")).toCompletableFuture().getNow(null).isOk()
+        assert calls.size() == 2
+    }
+
+    static class Company {
+        Employee director
+        List<Employee> employees
+    }
+
+    static class Employee {
+        String email
+    }
+}
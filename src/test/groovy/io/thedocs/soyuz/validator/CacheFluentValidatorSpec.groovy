@@ -0,0 +1,105 @@
+package io.thedocs.soyuz.validator
+
+import io.thedocs.soyuz.err.Err
+import spock.lang.Specification
+
+import java.time.LocalDate
+
+class CacheFluentValidatorSpec extends Specification {
+
+    def "should cache results by identity"() {
+        setup:
+        def reads = 0
+        def validator = FluentValidatorCache.byIdentity(Fv.of(Product).string("title").notEmpty().b().build(), 100)
+        def product = new Product(title: "", onRead: { reads++ })
+        def same = new Product(title: "", onRead: { reads++ })
+
+        when:
+        def results = (0..<10).collect { validator.validate(product) }
+
+        then:
+        assert validator.isCacheable()
+        assert results.every { it == Fv.Result.failure(product, Err.field("title").code("notEmpty").value("").build()) }
+        assert reads == 1
+        assert !validator.isValid(product)
+        assert reads == 1
+
+        when:
+        validator.validate(same)
+        validator.invalidate(product)
+        validator.validate(product)
+
+        then:
+        assert reads == 3
+        assert validator.size() == 2
+    }
+
+    def "should cache results by key"() {
+        setup:
+        def reads = 0
+        def validator = FluentValidatorCache.byKey(Fv.of(Product).string("title").notEmpty().b().build(), { p -> [p.id, p.version] }, 2)
+
+        when:
+        validator.validate(new Product(id: 1, version: 1, title: "a", onRead: { reads++ }))
+        def result = validator.validate(new Product(id: 1, version: 1, title: "", onRead: { reads++ }))
+        validator.validate(new Product(id: 1, version: 2, title: "", onRead: { reads++ }))
+        validator.validate(new Product(id: 2, version: 1, title: "", onRead: { reads++ }))
+        validator.validate(new Product(id: 1, version: 1, title: "", onRead: { reads++ }))
+
+        then:
+        assert result.isOk()
+        assert reads == 4
+        assert validator.size() == 2
+    }
+
+    def "should not share errors container between results"() {
+        setup:
+        def validator = FluentValidatorCache.byIdentity(Fv.of(Product).string("title").notEmpty().b().build(), 100)
+        def product = new Product(title: "")
+        def expected = Fv.Result.failure(product, Err.field("title").code("notEmpty").value("").build())
+
+        when:
+        validator.validate(product).errors.add(Err.code("first").build())
+        validator.validate(product).errors.add(Err.code("second").build())
+
+        then:
+        assert validator.validate(product) == expected
+    }
+
+    def "should not cache validators with date or custom rules"() {
+        setup:
+        def custom = Fv.of(Product).string("title").custom({ p, t -> Fv.CustomResult.success() } as FluentValidatorObjects.CustomValidator.Simple).b().build()
+        def dated = Fv.of(Product).localDate("released").lessThanNow().b().build()
+
+        expect:
+        assert !FluentValidatorCache.byIdentity(custom, 10).isCacheable()
+        assert !FluentValidatorCache.byIdentity(dated, 10).isCacheable()
+        assert !FluentValidatorCache.byIdentity(Fv.of(Catalog).object("product", Product).validator(custom).b().build(), 10).isCacheable()
+        assert FluentValidatorCache.byIdentity(Fv.of(Catalog).collection("products", Product).itemValidator(Fv.of(Product).string("title").notEmpty().b().build()).b().build(), 10).isCacheable()
+
+        when:
+        def validator = FluentValidatorCache.byIdentity(dated, 10)
+        validator.validate(new Product(released: LocalDate.now()))
+
+        then:
+        assert validator.size() == 0
+    }
+
+    static class Catalog {
+        Product product
+        List<Product> products
+    }
+
+    static class Product {
+        int id
+        int version
+        String title
+        LocalDate released
+        Closure onRead = {}
+
+        String getTitle() {
+            onRead()
+            return title
+        }
+    }
+}
@@ -4,6 +4,9 @@ import groovy.transform.EqualsAndHashCode
 import groovy.transform.ToString
 import io.thedocs.soyuz.err.Err
 import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.Executors
 
 class CollectionFluentValidatorSpec extends Specification {
 
@@ -105,6 +108,53 @@ class CollectionFluentValidatorSpec extends Specification {
         [new Member(name: "")] as Set      | { t, m -> Fv.Result.failure(t, Err.field("members[0].name").code("notEmpty").value("").build()) }
     }
 
+    def "parallel itemValidator should return the same result as sequential one"() {
+        setup:
+        def random = new Random(11)
+        def memberValidator = Fv.of(Member).string("name").notEmpty().lessOrEqual(5).b().build()
+        def sequential = Fv.of(Crowd).collection("members").itemValidator(memberValidator).b()
+        def common = Fv.of(Crowd).collection("members").itemValidator(memberValidator, 1000).b()
+        def executor = Executors.newFixedThreadPool(3)
+        def pooled = Fv.of(Crowd).collection("members").itemValidator(memberValidator, 1000, executor).b()
+
+        expect:
+        [[], ["Fedor"], ["", "Alexander"]].each { variants ->
+            [ArrayList, LinkedList].each { listClass ->
+                def members = listClass.newInstance((0..<20_000).collect { new Member(name: (random.nextInt(2_000) == 0 && variants) ? variants[random.nextInt(variants.size())] : "John") })
+                def crowd = new Crowd(members: members)
+
+                [false, true].each { failFast ->
+                    def expected = sequential.failFast(failFast).build().validate(crowd)
+
+                    assert common.failFast(failFast).build().validate(crowd) == expected
+                    assert pooled.failFast(failFast).build().validate(crowd) == expected
+                    assert common.build().isValid(crowd) == expected.isOk()
+                    assert pooled.build().isValid(crowd) == expected.isOk()
+                }
+            }
+        }
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    @Timeout(60)
+    def "nested parallel itemValidators should share bounded executor"() {
+        setup:
+        def executor = Executors.newFixedThreadPool(2)
+        def memberValidator = Fv.of(Member).string("name").notEmpty().b().build()
+        def crowdValidator = Fv.of(Crowd).collection("members").itemValidator(memberValidator, 300, executor).b().build()
+        def validator = Fv.of(City).collection("crowds").itemValidator(crowdValidator, 300, executor).b().build()
+        def city = new City(crowds: (0..<600).collect { c -> new Crowd(members: (0..<600).collect { m -> new Member(name: (c == 599 && m == 42) ? "" : "John") }) })
+
+        expect:
+        assert validator.validate(city) == Fv.Result.failure(city, Err.field("crowds[599].members[42].name").code("notEmpty").value("").build())
+        assert !validator.isValid(city)
+
+        cleanup:
+        executor.shutdown()
+    }
+
     @EqualsAndHashCode
     @ToString
     static class Team {
@@ -112,6 +162,14 @@ class CollectionFluentValidatorSpec extends Specification {
         Set<Member> members;
     }
 
+    static class Crowd {
+        List<Member> members
+    }
+
+    static class City {
+        List<Crowd> crowds
+    }
+
     @EqualsAndHashCode
     @ToString
     static class Member {
@@ -0,0 +1,178 @@
+package io.thedocs.soyuz.validator
+
+import io.thedocs.soyuz.err.Err
+import io.thedocs.soyuz.err.Errors
+import spock.lang.Specification
+
+import java.util.function.BiFunction
+import java.util.function.Function
+
+class CompiledFluentValidatorSpec extends Specification {
+
+    def "compiled validator should return the same result as the regular one"() {
+        when:
+        def builder = Fv.of(Car)
+                .string("title").notEmpty().lessOrEqual(5).b()
+                .primitiveInt("power").greaterThan(0).b()
+                .string("color").notEmpty().when({ c, color -> c.power > 100 } as BiFunction).b()
+                .string("model").mapFrom(String, { it.trim() } as Function).notEmpty().b()
+                .object("engine", CarEngine).validator(Fv.of(CarEngine).string("title").notEmpty().b().build()).b()
+
+        then:
+        assert builder.buildCompiled().validate(car) == result(car)
+        assert builder.build().validate(car) == result(car)
+
+        where:
+        car                                                                                         | result
+        new Car(title: "Lada", power: 50, model: "4x4", engine: new CarEngine(title: "v8"))         | { c -> Fv.Result.success(c) }
+        new Car(title: "Lada Niva", power: 150, model: " ", engine: new CarEngine(title: ""))       | { c ->
+            Fv.Result.failure(
+                    c,
+                    Errors.reject(
+                            Err.field("title").code("lessOrEqual").value("Lada Niva").params(["criterion": 5]).build(),
+                            Err.field("color").code("notEmpty").build(),
+                            Err.field("model").code("notEmpty").value("").build(),
+                            Err.field("engine.title").code("notEmpty").value("").build()
+                    )
+            )
+        }
+    }
+
+    def "fused rules should report the same error as the unfused chain"() {
+        when:
+        def newBuilder = {
+            Fv.of(Car)
+                    .string("title").greaterOrEqual(3).lessOrEqual(8).notEmpty().greaterThan(1).b()
+                    .string("color").lessThan(6).greaterThan(2).matches(~/[a-z]+/).b()
+                    .primitiveInt("power").greaterOrEqual(10).lessThan(500).greaterThan(0).b()
+                    .collection("wheels", String).notEmpty().lessOrEqual(4).greaterOrEqual(2).b()
+        }
+        def unfused = new FluentValidatorImpl(Car, newBuilder().validationData)
+
+        then:
+        assert newBuilder().buildCompiled().validate(car) == unfused.validate(car)
+        assert newBuilder().buildCompiled().isValid(car) == unfused.validate(car).isOk()
+        assert newBuilder().build().validate(car) == unfused.validate(car)
+        assert newBuilder().build().isValid(car) == unfused.validate(car).isOk()
+
+        where:
+        car << [
+                new Car(title: "Lada", color: "red", power: 90, wheels: ["a", "b"]),
+                new Car(title: null, color: null, power: 0, wheels: null),
+                new Car(title: "", color: "", power: 9, wheels: []),
+                new Car(title: "L", color: "Red", power: 500, wheels: ["a"]),
+                new Car(title: "Lada Niva 4x4", color: "magenta", power: -1, wheels: ["a", "b", "c", "d", "e"]),
+                new Car(title: "Niva", color: "blue", power: 499, wheels: ["a", "b", "c", "d"])
+        ]
+    }
+
+    def "chains of every kind of property should return the same result as the regular validator"() {
+        setup:
+        def random = new Random(3)
+        def builder = Fv.of(Metric)
+                .primitiveInt("count").greaterOrEqual(0).oneOf(1, 2, 3, 50).lessThan(100).b()
+                .primitiveLong("total").greaterThan(-5L).lessOrEqual(1000L).b()
+                .primitiveDouble("ratio").greaterOrEqual(0.0d).lessThan(1.0d).b()
+                .integer("limit").notNull().greaterThan(0).when({ m, limit -> m.count > 1 } as BiFunction).lessThan(10).b()
+                .long_("version").notNull().greaterOrEqual(1L).b()
+                .string("name").notNull().custom({ m, name -> name.startsWith("m") ? Fv.CustomResult.success() : Fv.CustomResult.failure("prefix") } as FluentValidatorObjects.CustomValidator.Simple).lessOrEqual(6).b()
+        def regular = builder.build()
+        def compiled = builder.buildCompiled()
+        def metrics = (0..<2000).collect {
+            new Metric(count: random.nextInt(120) - 10, total: random.nextInt(1100) - 10, ratio: random.nextDouble() * 1.2 - 0.1,
+                    limit: [null, 0, 5, 12][random.nextInt(4)], version: [null, 0L, 1L][random.nextInt(3)], name: ["m", "metric-1", "x"][random.nextInt(3)])
+        }
+
+        expect:
+        assert compiled.@data.every { it instanceof FluentValidatorObjects.CompiledData }
+        metrics.each { metric ->
+            def expected = regular.validate(metric)
+
+            assert compiled.validate(metric) == expected
+            assert compiled.isValid(metric) == expected.isOk()
+        }
+    }
+
+    def "fusion should merge contiguous rules and drop dominated ones"() {
+        setup:
+        def data = Fv.of(String).self().string()
+                .notNull().greaterOrEqual(3).notEmpty().lessOrEqual(8).lessOrEqual(10)
+                .matches(~/.*/)
+                .lessThan(5).greaterThan(1)
+                .data
+
+        when:
+        def rules = FluentValidatorRule.Fused.fuse(data.rules)
+
+        then:
+        assert rules.size() == 3
+        assert rules[0].rules*.class == [FluentValidatorRule.Obj.NotNull, FluentValidatorRule.Str.GreaterOrEqual, FluentValidatorRule.Str.LessOrEqual]
+        assert rules[1] instanceof FluentValidatorRule.Str.Matches
+        assert rules[2].rules*.class == [FluentValidatorRule.Str.LessThan, FluentValidatorRule.Str.GreaterThan]
+    }
+
+    def "regular build should fuse bounded rules too"() {
+        setup:
+        def builder = Fv.of(String).self().string().notNull().greaterOrEqual(3).lessOrEqual(8).matches(~/.*/)
+        def data = builder.data
+
+        when:
+        def validator = builder.b().build()
+
+        then:
+        assert data.rules.size() == 2
+        assert data.rules[0] instanceof FluentValidatorRule.Fused
+        assert validator.validate("ab") == Fv.Result.failure("ab", Err.code("greaterOrEqual").value("ab").params(["criterion": 3]).build())
+        assert validator.isValid("abc")
+    }
+
+    static class Car {
+        private String title
+        private String color
+        private String model
+        private int power
+        private CarEngine engine
+        private List<String> wheels
+
+        String getTitle() {
+            return title
+        }
+
+        String getColor() {
+            return color
+        }
+
+        String getModel() {
+            return model
+        }
+
+        int getPower() {
+            return power
+        }
+
+        CarEngine getEngine() {
+            return engine
+        }
+
+        List<String> getWheels() {
+            return wheels
+        }
+    }
+
+    static class Metric {
+        int count
+        long total
+        double ratio
+        Integer limit
+        Long version
+        String name
+    }
+
+    static class CarEngine {
+        private String title
+
+        String getTitle() {
+            return title
+        }
+    }
+}
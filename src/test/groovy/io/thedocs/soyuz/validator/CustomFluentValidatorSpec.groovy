@@ -3,6 +3,9 @@ package io.thedocs.soyuz.validator
 import io.thedocs.soyuz.err.Err
 import spock.lang.Specification
 
+import java.time.*
+import java.util.concurrent.atomic.AtomicInteger
+
 class CustomFluentValidatorSpec extends Specification {
 
     def "simple"() {
@@ -64,6 +67,97 @@ class CustomFluentValidatorSpec extends Specification {
         new Car(engine: new Engine(title: "bmw")) | { c -> Fv.Result.success(c) }
     }
 
+    def "cached"() {
+        setup:
+        def calls = []
+        def clock = new MutableClock()
+        def blocked = FluentValidatorObjects.CustomValidator.cached({ c, title ->
+            calls << title
+            return (title?.endsWith(".ru")) ? Fv.CustomResult.failure("blocked") : Fv.CustomResult.success()
+        } as FluentValidatorObjects.CustomValidator.Simple, 2, Duration.ofMinutes(1), clock)
+        def validator = Fv.of(Car).string("title").custom(blocked).b().build()
+
+        when:
+        def results = ["a.ru", "a.ru", "b.com", "a.ru", null].collect { validator.validate(new Car(title: it)).isOk() }
+
+        then:
+        assert results == [false, false, true, false, true]
+        assert calls == ["a.ru", "b.com", null]
+        assert blocked.stats.hitCount == 2
+        assert blocked.stats.missCount == 2
+
+        when: "cache is full, hot value survives"
+        calls.clear()
+        ["c.com", "a.ru", "d.com", "a.ru"].each { validator.validate(new Car(title: it)) }
+
+        then:
+        assert calls == ["c.com", "d.com"]
+        assert blocked.stats.size == 2
+        assert blocked.stats.evictionCount == 2
+
+        when: "entries expire"
+        calls.clear()
+        clock.millis += Duration.ofMinutes(2).toMillis()
+        validator.validate(new Car(title: "a.ru"))
+        blocked.invalidateAll()
+        validator.validate(new Car(title: "a.ru"))
+
+        then:
+        assert calls == ["a.ru", "a.ru"]
+    }
+
+    def "cached should be safe for concurrent use"() {
+        setup:
+        def cached = FluentValidatorObjects.CustomValidator.cached({ c, n -> (n % 3 == 0) ? Fv.CustomResult.failure("three") : Fv.CustomResult.success() } as FluentValidatorObjects.CustomValidator.Simple,
+                64, Duration.ofHours(1))
+        def validator = Fv.of(Car).primitiveInt("power").custom(cached).b().build()
+        def errors = new AtomicInteger()
+
+        when:
+        (0..<8).collect { t ->
+            Thread.start {
+                def random = new Random(t)
+
+                20_000.times {
+                    def power = random.nextInt(200)
+
+                    if (validator.isValid(new Car(power: power)) != (power % 3 != 0)) {
+                        errors.incrementAndGet()
+                    }
+                }
+            }
+        }*.join()
+
+        then:
+        assert errors.get() == 0
+        assert cached.stats.size <= 64
+        assert cached.stats.hitCount + cached.stats.missCount == 160_000
+    }
+
+    static class MutableClock extends Clock {
+        long millis
+
+        @Override
+        ZoneId getZone() {
+            return ZoneOffset.UTC
+        }
+
+        @Override
+        Clock withZone(ZoneId zone) {
+            return this
+        }
+
+        @Override
+        Instant instant() {
+            return Instant.ofEpochMilli(millis)
+        }
+
+        @Override
+        long millis() {
+            return millis
+        }
+    }
+
     static class Car {
         String title
         int power
@@ -3,6 +3,13 @@ package io.thedocs.soyuz.validator
 import io.thedocs.soyuz.err.Err
 import spock.lang.Specification
 
+import java.time.Clock
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalTime
+import java.time.ZoneOffset
+import java.util.function.Supplier
+
 class DateFluentValidatorSpec extends Specification {
 
     def "greaterThan / lessThan"() {
@@ -39,8 +46,84 @@ class DateFluentValidatorSpec extends Specification {
         new Car(constructed: new Date(1987 - 1900, 05, 01)) | { c -> Fv.Result.success(c) }
     }
 
+    def "now rules should use the clock of the validator"() {
+        setup:
+        def clock = Clock.fixed(Instant.parse("2018-04-05T10:00:00Z"), ZoneOffset.UTC)
+
+        when:
+        def validator = Fv.of(Car)
+                .clock(clock)
+                .date("constructed").lessOrEqualNow().b()
+                .localDate("registered").lessThanNow().b()
+                .localTime("serviced").greaterThanNow().b()
+                .build()
+
+        then:
+        assert validator.validate(car).isOk() == isValid
+
+        where:
+        car                                                                                                              | isValid
+        new Car()                                                                                                        | true
+        new Car(constructed: Date.from(Instant.parse("2018-04-05T10:00:00Z")), registered: LocalDate.of(2018, 4, 4))    | true
+        new Car(constructed: Date.from(Instant.parse("2018-04-05T10:00:01Z")))                                          | false
+        new Car(registered: LocalDate.of(2018, 4, 5))                                                                    | false
+        new Car(serviced: LocalTime.of(10, 0, 1))                                                                        | true
+        new Car(serviced: LocalTime.of(10, 0))                                                                           | false
+    }
+
+    def "now rules should fail at build time if builder has no current value"() {
+        when:
+        new LegacyDateBuilder(Fv.of(Car)).lessThanNow()
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        def validator = new LegacyDateBuilder(Fv.of(Car)).lessThan(LocalDate.of(2018, 4, 5)).b().build()
+
+        then:
+        assert !validator.validate(new Car(registered: LocalDate.of(2018, 4, 5))).isOk()
+    }
+
+    def "date supplier should be called once per validation"() {
+        setup:
+        def calls = 0
+        def supplier = { calls++; LocalDate.of(2018, 4, 5) } as Supplier<LocalDate>
+        def carValidator = Fv.of(Car).localDate("registered").lessThan(supplier).greaterThan(LocalDate.of(2000, 1, 1)).b().build()
+        def validator = Fv.of(Garage).collection("cars", Car).itemValidator(carValidator).b().build()
+        def garage = new Garage(cars: [new Car(registered: LocalDate.of(2018, 1, 1)), new Car(registered: LocalDate.of(2018, 5, 1)), new Car()])
+        def batch = FluentValidatorContext.of(false, Clock.systemUTC())
+
+        when:
+        def result = validator.validate(garage)
+
+        then:
+        assert !result.isOk()
+        assert calls == 1
+
+        when:
+        calls = 0
+        validator.validate(garage, batch)
+        validator.validate(garage, batch)
+
+        then:
+        assert calls == 1
+    }
+
     static class Car {
         String title
         Date constructed
+        LocalDate registered
+        LocalTime serviced
+    }
+
+    static class LegacyDateBuilder extends FluentValidatorBuilder.AbstractDateBuilder<Car, LocalDate, LegacyDateBuilder, FluentValidatorObjects.LocalDateData<Car>> {
+        LegacyDateBuilder(FluentValidatorBuilder<Car> builder) {
+            super(builder, new FluentValidatorObjects.LocalDateData<Car>(), "registered", Comparator.naturalOrder())
+        }
+    }
+
+    static class Garage {
+        List<Car> cars
     }
 }
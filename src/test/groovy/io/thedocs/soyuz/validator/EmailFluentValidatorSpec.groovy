@@ -0,0 +1,80 @@
+package io.thedocs.soyuz.validator
+
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.regex.Pattern
+
+class EmailFluentValidatorSpec extends Specification {
+
+    private static final Pattern MAIL_PATTERN = Pattern.compile("^[\\w!#\$%&'*+/=?`{|}~^-]+(?:\\.[\\w!#\$%&'*+/=?`{|}~^-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,20}\$")
+
+    @Unroll
+    def "scanner should agree with regex for '#value'"() {
+        expect:
+        assert FvUtils.strings.isEmail(value) == MAIL_PATTERN.matcher(value).matches()
+
+        where:
+        value << [
+                "", "@", "a@b.cc", "a@b.c", "a@b", "a@.cc", "a@b..cc", "a@b.cc.", ".a@b.cc", "a.@b.cc", "a..b@c.dd", "a.b@c.dd",
+                "a@@b.cc", "a@b@c.dd", "a@b.c1", "a@1.cc", "a@-.cc", "a@b-c.d-e.ff", "a@b.abcdefghijklmnopqrst", "a@b.abcdefghijklmnopqrstu",
+                "!#\$%&'*+/=?`{|}~^-_@b.cc", "a b@c.dd", "a@b c.dd", "a@b.cc\n", "\na@b.cc", "é@b.cc", "a@é.cc", "a@b.cé", "a\"b@c.dd", "a@b_c.dd"
+        ]
+    }
+
+    def "scanner should agree with regex on random strings"() {
+        setup:
+        def random = new Random(42)
+        def alphabet = "aZ09_.@-!~ é\n"
+
+        expect:
+        200_000.times {
+            def length = random.nextInt(16)
+            def chars = new char[length]
+
+            for (int i = 0; i < length; i++) {
+                chars[i] = alphabet.charAt(random.nextInt(alphabet.length()))
+            }
+
+            def value = new String(chars)
+
+            assert FvUtils.strings.isEmail(value) == MAIL_PATTERN.matcher(value).matches()
+        }
+    }
+
+    @Requires({ System.getProperty("benchmark") != null })
+    def "benchmark scanner against regex"() {
+        setup:
+        def values = ["pupkin@gmail.com", "first.last+tag@mail.example.co.uk", "not-an-email", "a" * 64 + "@" + "b." * 30 + "c"]
+        def iterations = 1_000_000
+
+        when:
+        def regexTime = measure(iterations) { MAIL_PATTERN.matcher(values[it & 3]).matches() }
+        def scannerTime = measure(iterations) { FvUtils.strings.isEmail(values[it & 3]) }
+
+        println "email: regex ${regexTime / 1_000_000} ms, scanner ${scannerTime / 1_000_000} ms for $iterations checks"
+
+        then:
+        assert scannerTime < regexTime
+    }
+
+    private static long measure(int iterations, Closure<Boolean> check) {
+        int valid = 0
+
+        //warm up
+        for (int i = 0; i < iterations; i++) {
+            if (check.call(i)) valid++
+        }
+
+        long start = System.nanoTime()
+
+        for (int i = 0; i < iterations; i++) {
+            if (check.call(i)) valid++
+        }
+
+        assert valid >= 0
+
+        return System.nanoTime() - start
+    }
+}
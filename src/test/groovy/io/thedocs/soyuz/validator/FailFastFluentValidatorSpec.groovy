@@ -2,15 +2,14 @@ package io.thedocs.soyuz.validator
 
 import io.thedocs.soyuz.err.Err
 import io.thedocs.soyuz.err.Errors
-import spock.lang.Ignore
 import spock.lang.Specification
 
+import java.time.Clock
 import java.util.concurrent.atomic.AtomicBoolean
 
 /**
  * Created by fbelov on 06.05.16.
  */
-@Ignore
 class FailFastFluentValidatorSpec extends Specification {
 
     def "should fail fast"() {
@@ -48,6 +47,63 @@ class FailFastFluentValidatorSpec extends Specification {
         assert checked.get() == false
     }
 
+    def "should override fail fast per call"() {
+        setup:
+        def checked = new AtomicBoolean()
+        def car = new Car(power: 90)
+
+        when:
+        def result = getValidator(false, checked).validate(car, true)
+
+        then:
+        assert result == Fv.Result.failure(car, Err.field("title").code("notEmpty").build())
+        assert checked.get() == false
+
+        when:
+        result = getValidator(true, checked).validate(car, false)
+
+        then:
+        assert result == Fv.Result.failure(car, Errors.reject(Err.field("title").code("notEmpty").build(), Err.field("power").code("min").value(90).build()))
+        assert checked.get() == true
+    }
+
+    def "should fail fast in nested validators and collection items"() {
+        setup:
+        def checked = new AtomicBoolean()
+        def garage = new Garage(cars: [new Car(power: 90), new Car(power: 50)])
+        def validator = Fv.of(Garage)
+                .failFast()
+                .collection("cars", Car).itemValidator(getValidator(false, checked)).b()
+                .build()
+
+        when:
+        def result = validator.validate(garage)
+
+        then:
+        assert result == Fv.Result.failure(garage, Err.field("cars[0].title").code("notEmpty").build())
+        assert checked.get() == false
+    }
+
+    def "should keep fail fast of nested validators"() {
+        setup:
+        def checked = new AtomicBoolean()
+        def garage = new Garage(main: new Car(power: 90), cars: [new Car(power: 90), new Car(title: "Lada", power: 50)])
+        def nested = getValidator(true, checked)
+        def validator = Fv.of(Garage)
+                .object("main").validator(nested).b()
+                .collection("cars", Car).itemValidator(nested).b()
+                .build()
+        def expected = Fv.Result.failure(garage, Errors.reject(
+                Err.field("main.title").code("notEmpty").build(),
+                Err.field("cars[0].title").code("notEmpty").build(),
+                Err.field("cars[1].power").code("min").value(50).build()))
+
+        expect:
+        assert validator.validate(garage) == expected
+        assert validator.validate(garage, FluentValidatorContext.of(false, Clock.systemUTC())) == expected
+        assert validator.validateAsync(garage).toCompletableFuture().join() == expected
+    }
+
     private getValidator(boolean failFast, AtomicBoolean powerChecked) {
         return Fv.of(Car)
                 .failFast(failFast)
@@ -65,6 +121,19 @@ class FailFastFluentValidatorSpec extends Specification {
                 .build()
     }
 
+    static class Garage {
+        private Car main
+        private List<Car> cars
+
+        Car getMain() {
+            return main
+        }
+
+        List<Car> getCars() {
+            return cars
+        }
+    }
+
     static class Car {
         private String title
         private int power
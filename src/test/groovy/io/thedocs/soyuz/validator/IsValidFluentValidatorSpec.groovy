@@ -0,0 +1,81 @@
+package io.thedocs.soyuz.validator
+
+import spock.lang.Specification
+
+import java.util.function.BiFunction
+
+class IsValidFluentValidatorSpec extends Specification {
+
+    def "isValid should agree with validate"() {
+        setup:
+        def wheelValidator = Fv.of(Wheel).primitiveInt("size").greaterThan(0).b().build()
+        def builder = Fv.of(Car)
+                .string("title").notEmpty().lessOrEqual(10).b()
+                .string("color").notEmpty().when({ c, color -> c.power > 100 } as BiFunction).b()
+                .primitiveInt("power").custom({ car, power -> (power < 500) ? Fv.CustomResult.success() : Fv.CustomResult.failure("tooPowerful") } as FluentValidatorObjects.CustomValidator.Simple).b()
+                .collection("wheels", Wheel).itemValidator(wheelValidator).b()
+
+        expect:
+        assert builder.build().isValid(car) == valid
+        assert builder.buildCompiled().isValid(car) == valid
+        assert builder.build().validate(car).isOk() == valid
+
+        where:
+        car                                                                           | valid
+        new Car(title: "Lada", power: 90, wheels: [new Wheel(size: 13)])              | true
+        new Car(title: "", power: 90, wheels: [new Wheel(size: 13)])                  | false
+        new Car(title: "Lada", power: 150, wheels: [new Wheel(size: 13)])             | false
+        new Car(title: "Lada", color: "red", power: 150, wheels: [])                  | true
+        new Car(title: "Lada", power: 600, wheels: [])                                | false
+        new Car(title: "Lada", power: 90, wheels: [new Wheel(size: 13), new Wheel()]) | false
+    }
+
+    def "isValid should not build errors"() {
+        setup:
+        def validator = Fv.of(String).self().validator(Fv.of(String).self().string().notEmpty().b().build()).b().build()
+        FluentValidatorRule rule = new FluentValidatorRule.Str.NotEmpty() {
+            @Override
+            Map<String, Object> getErrorParams() {
+                throw new IllegalStateException()
+            }
+        }
+        def data = new FluentValidatorObjects.StringData()
+
+        data.addRule(rule)
+
+        expect:
+        assert !validator.isValid("")
+        assert !data.isValid(null, "title", "", FluentValidatorContext.DEFAULT)
+    }
+
+    static class Car {
+        private String title
+        private String color
+        private int power
+        private List<Wheel> wheels
+
+        String getTitle() {
+            return title
+        }
+
+        String getColor() {
+            return color
+        }
+
+        int getPower() {
+            return power
+        }
+
+        List<Wheel> getWheels() {
+            return wheels
+        }
+    }
+
+    static class Wheel {
+        private int size
+
+        int getSize() {
+            return size
+        }
+    }
+}
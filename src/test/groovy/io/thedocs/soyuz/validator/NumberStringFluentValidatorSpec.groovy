@@ -0,0 +1,74 @@
+package io.thedocs.soyuz.validator
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class NumberStringFluentValidatorSpec extends Specification {
+
+    private static final List<String> CASES = [
+            "", " ", "0", "-0", "+0", "-", "+", "--1", "+-1", "1-", "007", "12a", "a12", " 1", "1 ", "١٢٣",
+            "127", "128", "-128", "-129", "32767", "32768", "-32768", "-32769",
+            "2147483647", "2147483648", "-2147483648", "-2147483649",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809", "99999999999999999999",
+            "1.", ".1", ".", "-.", "1.1.1", "1e", "1e+", "1e-5", "1E5", ".e1", "1e5.5", "1ee5", "1f", "1F", "1d", "1D", "1ff", "1.5e3d", "1fd",
+            " 1.5 ", "\t1.5\n", "NaN", "-NaN", "+Infinity", "-Infinity", "Infinity ", "Infinityx", "nan", "Inf", "N", "I",
+            "0x1p1", "0X1P-1", "-0x1.8p1", "0x.8p1", "0x1.p1", "0x.p1", "0x1", "0x1p", "0xp1", "0x1p1f", "0xgp1", "0x1.8p1.5", "0x", "0",
+            "1e99999", "1e-99999", "3.4028236E38", "1" * 400
+    ]
+
+    @Unroll
+    def "scanner should agree with JDK for '#value'"() {
+        expect:
+        assert FvUtils.numbers.isByte(value) == parses { Byte.valueOf(value) }
+        assert FvUtils.numbers.isShort(value) == parses { Short.valueOf(value) }
+        assert FvUtils.numbers.isInteger(value) == parses { Integer.valueOf(value) }
+        assert FvUtils.numbers.isLong(value) == parses { Long.valueOf(value) }
+        assert FvUtils.numbers.isFloat(value) == parses { Float.valueOf(value) }
+        assert FvUtils.numbers.isDouble(value) == parses { Double.valueOf(value) }
+
+        where:
+        value << CASES
+    }
+
+    def "scanner should agree with JDK on random strings"() {
+        setup:
+        def random = new Random(42)
+        def alphabet = "0123456789+-.eExXpPabcdfFDNaIinty \t"
+
+        expect:
+        100_000.times {
+            def length = random.nextInt(12)
+            def chars = new char[length]
+
+            for (int i = 0; i < length; i++) {
+                chars[i] = alphabet.charAt(random.nextInt(alphabet.length()))
+            }
+
+            def value = new String(chars)
+
+            assert FvUtils.numbers.isInteger(value) == parses { Integer.valueOf(value) }
+            assert FvUtils.numbers.isLong(value) == parses { Long.valueOf(value) }
+            assert FvUtils.numbers.isDouble(value) == parses { Double.valueOf(value) }
+        }
+    }
+
+    def "rules should use scanners"() {
+        when:
+        def validator = Fv.of(String).self().string().isInteger().b().build()
+
+        then:
+        assert validator.validate("12").isOk()
+        assert !validator.validate("1.2").isOk()
+        assert !validator.validate("2147483648").isOk()
+    }
+
+    private static boolean parses(Closure parser) {
+        try {
+            parser.call()
+
+            return true
+        } catch (NumberFormatException e) {
+            return false
+        }
+    }
+}
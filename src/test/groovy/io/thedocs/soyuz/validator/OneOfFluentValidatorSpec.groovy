@@ -0,0 +1,87 @@
+package io.thedocs.soyuz.validator
+
+import io.thedocs.soyuz.err.Err
+import io.thedocs.soyuz.err.Errors
+import spock.lang.Specification
+
+class OneOfFluentValidatorSpec extends Specification {
+
+    def "oneOf / noneOf for strings"() {
+        when:
+        def validator = Fv.of(Payment)
+                .string("currency").oneOf("USD", "EUR", "RUB").b()
+                .string("country").noneOf("XX", "ZZ").b()
+                .build()
+        def payment = new Payment(currency: currency, country: country)
+
+        then:
+        assert validator.validate(payment) == ((errors) ? Fv.Result.failure(payment, Errors.reject(errors.collect { Err.field(it[0]).code(it[1]).value(it[2]).build() })) : Fv.Result.success(payment))
+
+        where:
+        currency | country | errors
+        "USD"    | "RU"    | []
+        "GBP"    | null    | [["currency", "oneOf", "GBP"]]
+        null     | "XX"    | [["currency", "oneOf", null], ["country", "noneOf", "XX"]]
+    }
+
+    def "oneOf / noneOf for numbers and enums"() {
+        when:
+        def validator = Fv.of(Payment)
+                .primitiveInt("status").oneOf(200, 201, 204).b()
+                .primitiveLong("account").noneOf(0L, -1L).b()
+                .double_("rate").oneOf(0.5d, 1.0d).b()
+                .object("type", Type).oneOf(Type.CARD, Type.CASH).b()
+                .buildCompiled()
+
+        then:
+        assert validator.validate(payment).isOk() == isValid
+
+        where:
+        payment                                                                 | isValid
+        new Payment(status: 200, account: 1L, rate: 1.0d, type: Type.CARD)      | true
+        new Payment(status: 202, account: 1L, rate: 1.0d, type: Type.CARD)      | false
+        new Payment(status: 204, account: -1L, rate: 1.0d, type: Type.CARD)     | false
+        new Payment(status: 204, account: 5L, rate: 0.7d, type: Type.CARD)      | false
+        new Payment(status: 204, account: 5L, rate: 0.5d, type: Type.TRANSFER)  | false
+        new Payment(status: 204, account: 5L, rate: 0.5d, type: null)           | false
+    }
+
+    def "compiled sets should agree with HashSet"() {
+        setup:
+        def random = new Random(42)
+        def sets = [
+                ["a", "b"],
+                (0..<50).collect { "code" + it },
+                (0..<5000).collect { Integer.toString(random.nextInt(100_000), 36) },
+                ["Aa", "BB", "C#"],
+                (0..<300).collect { random.nextInt(1000) },
+                (0..<300).collect { random.nextLong() % 1000 },
+                [0.0d, -0.0d, Double.NaN, 1.5d],
+                [1, "1", 1L],
+                []
+        ]
+        def probes = (0..<2000).collect { Integer.toString(random.nextInt(100_000), 36) } + (0..<1000).collect { it } +
+                (0..<1000).collect { (long) it } + ["code7", "Aa", "BB", "Bb", null, 0.0d, -0.0d, Double.NaN, 1.5f]
+
+        expect:
+        sets.each { values ->
+            def compiled = FluentValidatorSet.of(values)
+            def expected = new HashSet(values)
+
+            probes.each { assert compiled.contains(it) == expected.contains(it) }
+        }
+    }
+
+    enum Type {
+        CARD, CASH, TRANSFER
+    }
+
+    static class Payment {
+        String currency
+        String country
+        int status
+        long account
+        Double rate
+        Type type
+    }
+}
@@ -0,0 +1,103 @@
+package io.thedocs.soyuz.validator
+
+import io.thedocs.soyuz.err.Err
+import io.thedocs.soyuz.err.Errors
+import spock.lang.Specification
+
+import java.util.function.BiFunction
+
+class PrimitiveFluentValidatorSpec extends Specification {
+
+    def "should validate primitive properties"() {
+        when:
+        def builder = Fv.of(Metric)
+                .primitiveInt("count").greaterOrEqual(0).lessThan(100).b()
+                .primitiveLong("timestamp").greaterThan(0L).b()
+                .primitiveDouble("value").greaterOrEqual(0.5d).lessOrEqual(1.5d).b()
+
+        then:
+        assert builder.build().validate(metric) == result(metric)
+        assert builder.buildCompiled().validate(metric) == result(metric)
+        assert builder.build().isValid(metric) == result(metric).isOk()
+        assert builder.buildCompiled().isValid(metric) == result(metric).isOk()
+
+        where:
+        metric                                               | result
+        new Metric(count: 1, timestamp: 1L, value: 1.0d)     | { m -> Fv.Result.success(m) }
+        new Metric(count: 100, timestamp: 0L, value: 1.6d)   | { m ->
+            Fv.Result.failure(m, Errors.reject(
+                    Err.field("count").code("lessThan").value(100).params([criterion: 100]).build(),
+                    Err.field("timestamp").code("greaterThan").value(0L).params([criterion: 0L]).build(),
+                    Err.field("value").code("lessOrEqual").value(1.6d).params([criterion: 1.5d]).build()
+            ))
+        }
+        new Metric(count: -1, timestamp: 5L, value: Double.NaN) | { m ->
+            Fv.Result.failure(m, Errors.reject(
+                    Err.field("count").code("greaterOrEqual").value(-1).params([criterion: 0]).build(),
+                    Err.field("value").code("greaterOrEqual").value(Double.NaN).params([criterion: 0.5d]).build()
+            ))
+        }
+    }
+
+    def "should resolve primitive getters"() {
+        expect:
+        assert FluentValidatorAccessor.of(Metric, "count").isPrimitive(int)
+        assert FluentValidatorAccessor.of(Metric, "timestamp").isPrimitive(long)
+        assert FluentValidatorAccessor.of(Metric, "value").isPrimitive(double)
+        assert !FluentValidatorAccessor.of(Metric, "count").isPrimitive(long)
+        assert FluentValidatorAccessor.of(Metric, "count").getInt(new Metric(count: 7)) == 7
+        assert FluentValidatorAccessor.of(Message, "size").getLong(new Message(size: 9L)) == 9L
+    }
+
+    def "should mix primitive and boxed rules"() {
+        when:
+        def validator = Fv.of(Metric)
+                .primitiveLong("timestamp")
+                .greaterThan(0L)
+                .custom({ m, t -> (t % 2 == 0) ? Fv.CustomResult.success() : Fv.CustomResult.failure("odd") } as FluentValidatorObjects.CustomValidator.Simple)
+                .when({ m, t -> m.count > 0 } as BiFunction)
+                .b()
+                .build()
+
+        def odd = new Metric(count: 1, timestamp: 3L)
+
+        then:
+        assert validator.validate(new Metric(count: 1, timestamp: 2L)).isOk()
+        assert validator.validate(odd) == Fv.Result.failure(odd, Err.field("timestamp").code("odd").value(3L).build())
+        assert validator.validate(new Metric(count: 0, timestamp: 3L)).isOk()
+    }
+
+    def "should read primitive properties of other classes and maps"() {
+        when:
+        def validator = Fv.of(Metric).primitiveLong("timestamp").greaterThan(0L).b().build()
+
+        then:
+        assert !validator.validate(new Message(timestamp: 0L)).isOk()
+        assert validator.validate(new Message(timestamp: 1L)).isOk()
+        assert !validator.validate([timestamp: 0L]).isOk()
+        assert validator.validate([timestamp: 1L]).isOk()
+    }
+
+    static class Metric {
+        private int count
+        private long timestamp
+        private double value
+
+        int getCount() {
+            return count
+        }
+
+        long getTimestamp() {
+            return timestamp
+        }
+
+        double getValue() {
+            return value
+        }
+    }
+
+    static class Message {
+        public long size
+        public long timestamp
+    }
+}
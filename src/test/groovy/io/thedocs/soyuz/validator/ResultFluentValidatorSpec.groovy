@@ -0,0 +1,54 @@
+package io.thedocs.soyuz.validator
+
+import io.thedocs.soyuz.err.Err
+import io.thedocs.soyuz.err.Errors
+import spock.lang.Specification
+
+class ResultFluentValidatorSpec extends Specification {
+
+    def "success results should be equal however they are created"() {
+        expect:
+        assert Fv.Result.success("a") == Fv.Result.failure("a", Errors.ok())
+        assert Fv.Result.success("a").errors == Errors.ok()
+        assert Fv.Result.success("a").isOk()
+        assert !Fv.Result.success("a").hasErrors()
+        assert Fv.CustomResult.success() == Fv.CustomResult.failure(Errors.ok())
+        assert Fv.CustomResult.success().errors == Errors.ok()
+    }
+
+    def "valid object should not have errors"() {
+        setup:
+        def validator = Fv.of(Car)
+                .string("title").notEmpty().b()
+                .collection("wheels", Wheel).itemValidator(Fv.of(Wheel).primitiveInt("size").greaterThan(0).b().build()).b()
+                .build()
+        def valid = new Car(title: "Lada", wheels: [new Wheel(size: 13)])
+        def invalid = new Car(title: "Lada", wheels: [new Wheel(size: 13), new Wheel(size: 0)])
+
+        expect:
+        assert validator.findErrors(valid, FluentValidatorContext.DEFAULT) == null
+        assert validator.validate(valid) == Fv.Result.success(valid)
+        assert validator.findErrors(invalid, FluentValidatorContext.DEFAULT) == Errors.reject(Err.field("wheels[1].size").code("greaterThan").value(0).params(["criterion": 0]).build())
+    }
+
+    static class Car {
+        private String title
+        private List<Wheel> wheels
+
+        String getTitle() {
+            return title
+        }
+
+        List<Wheel> getWheels() {
+            return wheels
+        }
+    }
+
+    static class Wheel {
+        private int size
+
+        int getSize() {
+            return size
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.thedocs.soyuz.validator
+
+import spock.lang.Specification
+
+class RevalidateFluentValidatorSpec extends Specification {
+
+    def "revalidate should return the same result as validate"() {
+        setup:
+        def random = new Random(5)
+        def validator = builder().failFast(failFast).build()
+        def form = randomForm(random)
+        def result = validator.validate(form)
+
+        expect:
+        500.times {
+            def changed = form.copy()
+            def changedPaths = [] as Set
+
+            if (random.nextBoolean()) {
+                changed.title = ["", "Lada", "x" * 20][random.nextInt(3)]
+                changedPaths << "title"
+            }
+
+            if (random.nextBoolean()) {
+                changed.address = new Address(city: ["", "Moscow"][random.nextInt(2)], zip: ["1", "123456"][random.nextInt(2)])
+                changedPaths.addAll(random.nextBoolean() ? ["address"] : ["address.city", "address.zip"])
+            }
+
+            if (random.nextBoolean()) {
+                changed.lines = changed.lines.collect()
+                changed.lines[1] = new Line(sku: ["", "A-1"][random.nextInt(2)])
+                changedPaths << ["lines", "lines[1]", "lines[1].sku"][random.nextInt(3)]
+            }
+
+            if (random.nextBoolean()) {
+                changed.amount = random.nextInt(300) - 100
+                changedPaths << "amount"
+            }
+
+            def revalidated = validator.revalidate(changed, result, changedPaths)
+
+            assert revalidated == validator.validate(changed)
+
+            form = changed
+            result = revalidated
+        }
+
+        where:
+        failFast << [false, true]
+    }
+
+    def "should check only affected properties"() {
+        setup:
+        def reads = [:].withDefault { 0 }
+        def validator = builder().build()
+        def form = new Form(title: "", amount: 0, address: new Address(city: "", zip: "1"), lines: [new Line(sku: ""), new Line(sku: "")], reads: reads)
+        def previous = validator.validate(form)
+
+        when:
+        reads.clear()
+        form.address = new Address(city: "Moscow", zip: "1")
+        def result = validator.revalidate(form, previous, ["address.city"] as Set)
+
+        then:
+        assert result == validator.validate(form)
+        assert result.errors.get()*.field == ["title", "address.zip", "lines[0].sku", "lines[1].sku", "amount"]
+
+        when:
+        reads.clear()
+        validator.revalidate(form, previous, ["address.city"] as Set)
+
+        then: "amount has when condition (which reads title), so it is always checked"
+        assert reads == ["address": 1, "amount": 1, "title": 1]
+    }
+
+    def "should validate whole object for foreign result"() {
+        setup:
+        def validator = builder().build()
+        def form = randomForm(new Random(1))
+        def valid = new Form(title: "Lada", amount: 1, address: new Address(city: "Moscow", zip: "123456"), lines: [new Line(sku: "A-1")])
+        def foreign = Fv.Result.failure(form, validator.validate(form).errors)
+
+        expect:
+        assert validator.revalidate(form, foreign, [] as Set) == validator.validate(form)
+        assert validator.revalidate(form, Fv.Result.success(form), [] as Set) == validator.validate(form)
+        assert validator.revalidate(form, builder().build().validate(valid), [] as Set) == validator.validate(form)
+        assert !validator.validate(form).isOk()
+    }
+
+    private static Form randomForm(Random random) {
+        return new Form(title: "Lada", amount: random.nextInt(100), address: new Address(city: "", zip: "123456"), lines: [new Line(sku: "A-1"), new Line(sku: "")])
+    }
+
+    private static FluentValidatorBuilder<Form> builder() {
+        return Fv.of(Form)
+                .string("title").notEmpty().lessOrEqual(10).b()
+                .object("address").notNull().b()
+                .string("address.city").notEmpty().b()
+                .string("address.zip").greaterOrEqual(6).b()
+                .collection("lines", Line).notEmpty().itemValidator(Fv.of(Line).string("sku").notEmpty().b().build()).b()
+                .primitiveInt("amount").when({ Form f, Integer v -> f.title != "free" } as java.util.function.BiFunction).greaterThan(0).b()
+    }
+
+    static class Form {
+        String title
+        int amount
+        Address address
+        List<Line> lines
+        Map<String, Integer> reads = [:].withDefault { 0 }
+
+        String getTitle() {
+            reads["title"]++
+            return title
+        }
+
+        int getAmount() {
+            reads["amount"]++
+            return amount
+        }
+
+        Address getAddress() {
+            reads["address"]++
+            return address
+        }
+
+        List<Line> getLines() {
+            reads["lines"]++
+            return lines
+        }
+
+        Form copy() {
+            return new Form(title: title, amount: amount, address: address, lines: lines)
+        }
+    }
+
+    static class Address {
+        String city
+        String zip
+    }
+
+    static class Line {
+        String sku
+    }
+}
@@ -0,0 +1,51 @@
+package io.thedocs.soyuz.validator
+
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.stream.Collectors
+import java.util.stream.IntStream
+
+class StreamFluentValidatorSpec extends Specification {
+
+    def validator = Fv.of(Car).string("title").notEmpty().b().primitiveInt("power").greaterThan(0).b().build()
+
+    def "should emit failures only"() {
+        setup:
+        def cars = (0..<1000).collect { new Car(title: (it % 7 == 0) ? "" : "Lada", power: (it % 11 == 0) ? 0 : 90) }
+        def expected = cars.collect { validator.validate(it) }.findAll { !it.isOk() }
+
+        expect:
+        assert validator.validateStream(cars.stream()).collect(Collectors.toList()) == expected
+        assert validator.validateStream(cars.iterator()).collect(Collectors.toList()) == expected
+        assert validator.validateStream(cars.parallelStream()).collect(Collectors.toList()) == expected
+        assert validator.validateStream([new Car(title: "Lada", power: 1)].stream()).count() == 0
+    }
+
+    def "should stop after max failures"() {
+        setup:
+        def read = new AtomicInteger()
+        def cars = IntStream.range(0, 1_000_000).mapToObj { new Car(title: (it % 10 == 9) ? "" : "Lada", power: 1) }.peek { read.incrementAndGet() }
+
+        when:
+        def failures = validator.validateStream(cars, 3).collect(Collectors.toList())
+
+        then:
+        assert failures*.rootObject*.title == ["", "", ""]
+        assert read.get() == 30
+    }
+
+    def "parallel stream should respect max failures"() {
+        setup:
+        def cars = (0..<100_000).collect { new Car(title: "", power: it) }
+
+        expect:
+        assert validator.validateStream(cars.parallelStream(), 100).count() == 100
+        assert validator.validateStream(cars.parallelStream(), 0).count() == 0
+    }
+
+    static class Car {
+        String title
+        int power
+    }
+}